@@ -0,0 +1,78 @@
+package com.github.coderodde.util.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the JDK sorts on the same inputs as 
+ * {@link ParallelRadixSortBenchmark}. {@link Arrays#parallelSort(int[])} 
+ * always runs on the common pool; its parallelism is set with 
+ * {@code -jvmArgsAppend -Djava.util.concurrent.ForkJoinPool.common.parallelism=N}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class ArraysSortBenchmark {
+
+    @Param({ "100000", "1000000", "10000000" })
+    private int size;
+
+    @Param({ "UNIFORM", "FEW_DISTINCT", "NARROW", "ALL_EQUAL", "SORTED" })
+    private Distribution distribution;
+
+    private int[] source;
+    private int[] array;
+    private long[] longSource;
+    private long[] longArray;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        source = distribution.create(size, 42L);
+        array = new int[size];
+        longSource = distribution.createLong(size, 42L);
+        longArray = new long[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        System.arraycopy(source, 0, array, 0, size);
+        System.arraycopy(longSource, 0, longArray, 0, size);
+    }
+
+    @Benchmark
+    public int[] arraysSort() {
+        Arrays.sort(array);
+        return array;
+    }
+
+    @Benchmark
+    public int[] arraysParallelSort() {
+        Arrays.parallelSort(array);
+        return array;
+    }
+
+    @Benchmark
+    public long[] arraysParallelSortLong() {
+        Arrays.parallelSort(longArray);
+        return longArray;
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.coderodde.util.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks. Accepts the usual JMH command line options; unless
+ * some profiler is requested with {@code -prof}, the GC profiler is enabled
+ * so that the allocation rate of each sort is reported with its running time.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+public final class BenchmarkRunner {
+
+    public static void main(String[] args)
+            throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder options =
+                new OptionsBuilder().parent(commandLineOptions);
+
+        if (commandLineOptions.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.coderodde.util.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The input distributions of the benchmarks.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+public enum Distribution {
+
+    /**
+     * Uniformly random over all the {@code int} values.
+     */
+    UNIFORM {
+        @Override
+        void fill(int[] array, Random random) {
+            for (int i = 0; i != array.length; i++) {
+                array[i] = random.nextInt();
+            }
+        }
+    },
+
+    /**
+     * Uniformly random over {@code 0, ..., 999}.
+     */
+    FEW_DISTINCT {
+        @Override
+        void fill(int[] array, Random random) {
+            for (int i = 0; i != array.length; i++) {
+                array[i] = random.nextInt(1000);
+            }
+        }
+    },
+
+    /**
+     * Uniformly random over {@code 0, ..., 2^24 - 1}, so that the most
+     * significant byte is the same in all the elements.
+     */
+    NARROW {
+        @Override
+        void fill(int[] array, Random random) {
+            for (int i = 0; i != array.length; i++) {
+                array[i] = random.nextInt(1 << 24);
+            }
+        }
+    },
+
+    /**
+     * Normally distributed around zero.
+     */
+    GAUSSIAN {
+        @Override
+        void fill(int[] array, Random random) {
+            for (int i = 0; i != array.length; i++) {
+                array[i] = (int) (random.nextGaussian() * 1_000_000.0);
+            }
+        }
+    },
+
+    /**
+     * All the elements are zero.
+     */
+    ALL_EQUAL {
+        @Override
+        void fill(int[] array, Random random) {
+            Arrays.fill(array, 0);
+        }
+    },
+
+    /**
+     * Uniformly random values in ascending order.
+     */
+    SORTED {
+        @Override
+        void fill(int[] array, Random random) {
+            UNIFORM.fill(array, random);
+            Arrays.sort(array);
+        }
+    },
+
+    /**
+     * Uniformly random values in descending order.
+     */
+    REVERSED {
+        @Override
+        void fill(int[] array, Random random) {
+            SORTED.fill(array, random);
+
+            for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+                int temp = array[i];
+                array[i] = array[j];
+                array[j] = temp;
+            }
+        }
+    };
+
+    /**
+     * Creates an array of {@code size} elements following this distribution.
+     *
+     * @param size the length of the array.
+     * @param seed the seed of the random number generator.
+     * @return the array.
+     */
+    int[] create(int size, long seed) {
+        int[] array = new int[size];
+        fill(array, new Random(seed));
+        return array;
+    }
+
+    /**
+     * Creates an array of {@code size} elements following this distribution.
+     * Each element repeats its 32 bits in both of its halves, so that all the
+     * eight bytes take part in the sort and the order of the elements is the
+     * same as in {@link #create(int, long)}.
+     *
+     * @param size the length of the array.
+     * @param seed the seed of the random number generator.
+     * @return the array.
+     */
+    long[] createLong(int size, long seed) {
+        int[] ints = create(size, seed);
+        long[] array = new long[size];
+
+        for (int i = 0; i != size; i++) {
+            array[i] = ((long) ints[i] << 32) | (ints[i] & 0xffff_ffffL);
+        }
+
+        return array;
+    }
+
+    abstract void fill(int[] array, Random random);
+}
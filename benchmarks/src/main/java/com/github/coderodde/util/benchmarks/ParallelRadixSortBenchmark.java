@@ -0,0 +1,158 @@
+package com.github.coderodde.util.benchmarks;
+
+import com.github.coderodde.util.ParallelRadixSort;
+import com.github.coderodde.util.RadixSorter;
+import com.github.coderodde.util.SortConfig;
+import com.github.coderodde.util.SortMode;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the parallel radix sort. Each invocation sorts a fresh copy of
+ * the same input; the copying is not measured. The sort runs on a dedicated
+ * {@link ForkJoinPool} of {@code threads} workers. The recursion into the 
+ * buckets on the platform threads of the pool is compared against the 
+ * recursion on the virtual threads, which requires JDK 21 or later.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class ParallelRadixSortBenchmark {
+
+    @Param({ "100000", "1000000", "10000000" })
+    private int size;
+
+    @Param({ "UNIFORM", "FEW_DISTINCT", "NARROW", "ALL_EQUAL", "SORTED" })
+    private Distribution distribution;
+
+    @Param({ "1", "4", "8" })
+    private int threads;
+
+    @Param({ "16" })
+    private int insertionSortThreshold;
+
+    @Param({ "307" })
+    private int mergesortThreshold;
+
+    @Param({ "65536" })
+    private int minimumThreadWorkload;
+
+    private int[] source;
+    private int[] array;
+    private long[] longSource;
+    private long[] longArray;
+    private ForkJoinPool pool;
+    private RadixSorter radixSorter;
+    private RadixSorter platformThreadSorter;
+    private RadixSorter virtualThreadSorter;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        ParallelRadixSort.setInsertionSortThreshold(insertionSortThreshold);
+        ParallelRadixSort.setMergesortThreshold(mergesortThreshold);
+        ParallelRadixSort.setMinimumThreadWorkload(minimumThreadWorkload);
+
+        source = distribution.create(size, 42L);
+        array = new int[size];
+        longSource = distribution.createLong(size, 42L);
+        longArray = new long[size];
+        pool = new ForkJoinPool(threads);
+        radixSorter = new RadixSorter(pool);
+
+        SortConfig config = SortConfig.getDefault()
+                                      .withSortMode(SortMode.MSD)
+                                      .withExecutor(pool);
+
+        platformThreadSorter = new RadixSorter(config);
+        virtualThreadSorter = 
+                new RadixSorter(config.withVirtualThreads(true));
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        System.arraycopy(source, 0, array, 0, size);
+        System.arraycopy(longSource, 0, longArray, 0, size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        pool.shutdown();
+    }
+
+    /**
+     * Sorts with the static method, allocating the buffer on each call.
+     */
+    @Benchmark
+    public int[] parallelSort() {
+        ParallelRadixSort.parallelSort(array, pool);
+        return array;
+    }
+
+    /**
+     * Sorts with a sorter reusing its buffer over the calls.
+     */
+    @Benchmark
+    public int[] radixSorterSort() {
+        radixSorter.sort(array);
+        return array;
+    }
+
+    /**
+     * Sorts the {@code long} keys with a sorter reusing its buffer over the 
+     * calls.
+     */
+    @Benchmark
+    public long[] radixSorterSortLong() {
+        radixSorter.sort(longArray);
+        return longArray;
+    }
+
+    /**
+     * Sorts without the auxiliary buffer.
+     */
+    @Benchmark
+    public int[] radixSorterSortInPlace() {
+        radixSorter.sortInPlace(array);
+        return array;
+    }
+
+    /**
+     * Sorts with the MSD radix sort recurring into the buckets on the workers
+     * of the pool.
+     */
+    @Benchmark
+    public int[] radixSorterSortPlatformThreads() {
+        platformThreadSorter.sort(array);
+        return array;
+    }
+
+    /**
+     * Sorts with the MSD radix sort recurring into each bucket on a virtual 
+     * thread of its own.
+     */
+    @Benchmark
+    public int[] radixSorterSortVirtualThreads() {
+        virtualThreadSorter.sort(array);
+        return array;
+    }
+}
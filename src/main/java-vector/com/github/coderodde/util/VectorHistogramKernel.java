@@ -0,0 +1,147 @@
+package com.github.coderodde.util;
+
+import static com.github.coderodde.util.ParallelRadixSort.BUCKETS;
+import static com.github.coderodde.util.ParallelRadixSort.DEEPEST_RECURSION_DEPTH;
+import static com.github.coderodde.util.ParallelRadixSort.getBucketIndex;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class implements the counting loops with the Vector API. The digits of
+ * a whole vector of elements are extracted at once, without the branch on the
+ * recursion depth: the sign bit is flipped in every element, which changes 
+ * only the most significant byte. The digits are then counted into several
+ * copies of the histogram, the lane {@code i} into the copy 
+ * {@code i % COUNTERS}, so that a run of equal keys does not make every 
+ * increment wait for the previous store to the same counter. The copies are 
+ * summed up at the end.
+ * <p>
+ * This class is compiled only by the {@code vector} Maven profile, and needs
+ * {@code --add-modules jdk.incubator.vector} at runtime.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class VectorHistogramKernel implements HistogramKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = 
+            IntVector.SPECIES_PREFERRED;
+
+    /**
+     * The number of histogram copies. A power of two.
+     */
+    private static final int COUNTERS = 4;
+
+    private static final int SIGN_BIT_MASK = 0x8000_0000;
+
+    private static final int EXTRACT_BYTE_MASK = 0xff;
+
+    private static final int DIGITS = DEEPEST_RECURSION_DEPTH + 1;
+
+    @Override
+    public void countBytes(int[] array,
+                           int fromIndex,
+                           int toIndex,
+                           int recursionDepth,
+                           int[] bucketSizeMap) {
+
+        int lanes = SPECIES.length();
+        int shift = (DEEPEST_RECURSION_DEPTH - recursionDepth) * Byte.SIZE;
+        int[] counters = new int[COUNTERS * BUCKETS];
+        int[] digits = new int[lanes];
+        int upperBound = fromIndex + SPECIES.loopBound(toIndex - fromIndex);
+        int i = fromIndex;
+
+        for (; i < upperBound; i += lanes) {
+            IntVector.fromArray(SPECIES, array, i)
+                     .lanewise(VectorOperators.XOR, SIGN_BIT_MASK)
+                     .lanewise(VectorOperators.LSHR, shift)
+                     .lanewise(VectorOperators.AND, EXTRACT_BYTE_MASK)
+                     .intoArray(digits, 0);
+
+            for (int lane = 0; lane != lanes; lane++) {
+                counters[(lane & (COUNTERS - 1)) * BUCKETS + digits[lane]]++;
+            }
+        }
+
+        for (; i != toIndex; i++) {
+            counters[getBucketIndex(array[i], recursionDepth)]++;
+        }
+
+        addCounters(counters, bucketSizeMap, BUCKETS);
+    }
+
+    @Override
+    public void countAllBytes(int[] array,
+                              int fromIndex,
+                              int toIndex,
+                              int[] histogram,
+                              int[] extremes) {
+
+        int lanes = SPECIES.length();
+        int histogramLength = DIGITS * BUCKETS;
+        int[] counters = new int[COUNTERS * histogramLength];
+        int[] digits = new int[DIGITS * lanes];
+        int upperBound = fromIndex + SPECIES.loopBound(toIndex - fromIndex);
+        int i = fromIndex;
+
+        IntVector minimums = IntVector.broadcast(SPECIES, array[fromIndex]);
+        IntVector maximums = minimums;
+
+        for (; i < upperBound; i += lanes) {
+            IntVector vector = IntVector.fromArray(SPECIES, array, i);
+            minimums = minimums.min(vector);
+            maximums = maximums.max(vector);
+
+            IntVector flipped = 
+                    vector.lanewise(VectorOperators.XOR, SIGN_BIT_MASK);
+
+            for (int depth = 0; depth != DIGITS; depth++) {
+                // The row of the depth is added to the digit:
+                flipped.lanewise(VectorOperators.LSHR, 
+                                 (DEEPEST_RECURSION_DEPTH - depth) 
+                                         * Byte.SIZE)
+                       .lanewise(VectorOperators.AND, EXTRACT_BYTE_MASK)
+                       .add(depth * BUCKETS)
+                       .intoArray(digits, depth * lanes);
+            }
+
+            for (int j = 0; j != digits.length; j++) {
+                counters[(j & (COUNTERS - 1)) * histogramLength 
+                        + digits[j]]++;
+            }
+        }
+
+        int minimum = minimums.reduceLanes(VectorOperators.MIN);
+        int maximum = maximums.reduceLanes(VectorOperators.MAX);
+
+        for (; i != toIndex; i++) {
+            int datum = array[i];
+            minimum = Math.min(minimum, datum);
+            maximum = Math.max(maximum, datum);
+
+            for (int depth = 0; depth != DIGITS; depth++) {
+                counters[depth * BUCKETS + getBucketIndex(datum, depth)]++;
+            }
+        }
+
+        addCounters(counters, histogram, histogramLength);
+        extremes[0] = minimum;
+        extremes[1] = maximum;
+    }
+
+    private static void addCounters(int[] counters, 
+                                    int[] histogram, 
+                                    int histogramLength) {
+
+        for (int counter = 0; counter != COUNTERS; counter++) {
+            int offset = counter * histogramLength;
+
+            for (int i = 0; i != histogramLength; i++) {
+                histogram[i] += counters[offset + i];
+            }
+        }
+    }
+}
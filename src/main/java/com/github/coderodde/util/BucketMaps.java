@@ -0,0 +1,37 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+
+/**
+ * This class holds the reusable bucket maps of a radix sorting worker. A 
+ * sequential radix sort uses the row {@code i} at the recursion depth 
+ * {@code i}; a parallel recursion level uses the row {@code i} for its 
+ * {@code i}th task.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class BucketMaps {
+    
+    final int[][] bucketSizeMaps;
+    final int[][] startIndexMaps;
+    final int[][] processedMaps;
+    final int[] globalBucketSizeMap;
+    
+    BucketMaps(int rows, int buckets) {
+        this.bucketSizeMaps      = new int[rows][buckets];
+        this.startIndexMaps      = new int[rows][buckets];
+        this.processedMaps       = new int[rows][buckets];
+        this.globalBucketSizeMap = new int[buckets];
+    }
+    
+    int getRows() {
+        return bucketSizeMaps.length;
+    }
+    
+    void clearRow(int row) {
+        Arrays.fill(bucketSizeMaps[row], 0);
+        Arrays.fill(processedMaps[row], 0);
+    }
+}
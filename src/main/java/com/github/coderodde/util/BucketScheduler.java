@@ -0,0 +1,170 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.ParallelRadixSort.BucketKeyList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class assigns the buckets of a scattered range to the threads of the
+ * recursion phase. A bucket larger than the ideal share of a thread is split
+ * over several threads: it forms a group of its own, which sorts the bucket
+ * in parallel. The remaining buckets are assigned by the longest processing
+ * time first rule: in the order of decreasing size, each bucket goes to the
+ * least loaded single-thread group. The assignment depends only on the
+ * bucket sizes.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class BucketScheduler {
+
+    private BucketScheduler() {
+
+    }
+
+    /**
+     * Assigns the non-empty buckets to groups. The thread counts of the
+     * groups sum up to at most {@code threads}.
+     *
+     * @param bucketSizeMap           the bucket sizes.
+     * @param numberOfNonemptyBuckets the number of non-empty buckets.
+     * @param rangeLength             the sum of the bucket sizes.
+     * @param threads                 the number of threads available.
+     * @param minimumThreadWorkload   the minimum number of elements per 
+     *                                thread.
+     * @return the groups, each to be sorted by its own task.
+     */
+    static List<BucketGroup> schedule(int[] bucketSizeMap,
+                                      int numberOfNonemptyBuckets,
+                                      int rangeLength,
+                                      int threads,
+                                      int minimumThreadWorkload) {
+
+        BucketKeyList bucketKeys = getBucketKeysBySize(bucketSizeMap,
+                                                       numberOfNonemptyBuckets);
+
+        List<BucketGroup> bucketGroups = new ArrayList<>(threads);
+        int idealThreadLoad = Math.max(rangeLength / threads, 1);
+        int freeThreads = threads;
+        int index = 0;
+
+        // Split the oversized buckets, the largest first:
+        for (; index != numberOfNonemptyBuckets; index++) {
+            int bucketKey = bucketKeys.getBucketKey(index);
+            int bucketSize = bucketSizeMap[bucketKey];
+
+            // Keep a thread for the smaller buckets, if there are any:
+            int availableThreads = 
+                    index == numberOfNonemptyBuckets - 1 ?
+                    freeThreads :
+                    freeThreads - 1;
+
+            int bucketThreads =
+                    Math.min(
+                            Math.min(bucketSize / idealThreadLoad,
+                                     availableThreads),
+                            bucketSize / minimumThreadWorkload);
+
+            if (bucketThreads < 2) {
+                // This and all the following buckets go to single threads.
+                break;
+            }
+
+            BucketGroup bucketGroup = new BucketGroup(bucketThreads);
+            bucketGroup.add(bucketKey, bucketSize);
+            bucketGroups.add(bucketGroup);
+            freeThreads -= bucketThreads;
+        }
+
+        int remainingBuckets = numberOfNonemptyBuckets - index;
+
+        if (remainingBuckets == 0) {
+            return bucketGroups;
+        }
+
+        int singleThreadGroups = Math.min(freeThreads, remainingBuckets);
+
+        int firstSingleThreadGroupIndex = bucketGroups.size();
+
+        for (int i = 0; i != singleThreadGroups; i++) {
+            bucketGroups.add(new BucketGroup(1));
+        }
+
+        // Longest processing time first:
+        for (; index != numberOfNonemptyBuckets; index++) {
+            int bucketKey = bucketKeys.getBucketKey(index);
+            BucketGroup leastLoadedGroup =
+                    bucketGroups.get(firstSingleThreadGroupIndex);
+
+            for (int i = firstSingleThreadGroupIndex + 1;
+                    i != bucketGroups.size();
+                    i++) {
+                BucketGroup bucketGroup = bucketGroups.get(i);
+
+                if (bucketGroup.load < leastLoadedGroup.load) {
+                    leastLoadedGroup = bucketGroup;
+                }
+            }
+
+            leastLoadedGroup.add(bucketKey, bucketSizeMap[bucketKey]);
+        }
+
+        return bucketGroups;
+    }
+
+    /**
+     * Returns the keys of the non-empty buckets in the order of decreasing
+     * size. Ties are broken by the bucket key.
+     */
+    private static BucketKeyList getBucketKeysBySize(
+            int[] bucketSizeMap,
+            int numberOfNonemptyBuckets) {
+
+        // Pack each size with its bucket key so that a single sort suffices:
+        long[] sizesAndKeys = new long[numberOfNonemptyBuckets];
+        int size = 0;
+
+        for (int bucketKey = 0; 
+                bucketKey != bucketSizeMap.length; 
+                bucketKey++) {
+            if (bucketSizeMap[bucketKey] != 0) {
+                sizesAndKeys[size++] =
+                        ((long) -bucketSizeMap[bucketKey] << Integer.SIZE)
+                                | bucketKey;
+            }
+        }
+
+        Arrays.sort(sizesAndKeys);
+
+        BucketKeyList bucketKeys = new BucketKeyList(numberOfNonemptyBuckets);
+
+        for (long sizeAndKey : sizesAndKeys) {
+            bucketKeys.addBucketKey((int) sizeAndKey);
+        }
+
+        return bucketKeys;
+    }
+
+    /**
+     * A group of buckets sorted one after another by a single task, which may
+     * use several threads.
+     */
+    static final class BucketGroup {
+
+        final BucketKeyList bucketKeys;
+        final int threads;
+        private long load;
+
+        BucketGroup(int threads) {
+            this.bucketKeys = new BucketKeyList(ParallelRadixSort.BUCKETS);
+            this.threads = threads;
+        }
+
+        void add(int bucketKey, int bucketSize) {
+            bucketKeys.addBucketKey(bucketKey);
+            load += bucketSize;
+        }
+    }
+}
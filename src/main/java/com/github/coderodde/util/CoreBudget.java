@@ -0,0 +1,127 @@
+package com.github.coderodde.util;
+
+import java.util.function.IntConsumer;
+
+/**
+ * This class keeps count of the processors used by the sorts in flight. Each
+ * sort of automatic parallelism is granted at most the processors no other
+ * sort is using, so that many concurrent sorts do not oversubscribe the
+ * machine and lose their throughput to context switching. A sort is granted at
+ * least one thread, the calling one, even when the budget is exhausted.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class CoreBudget {
+
+    /**
+     * The budget shared by all the sorts in this JVM.
+     */
+    static final CoreBudget GLOBAL =
+            new CoreBudget(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The number of processors to share.
+     */
+    private final int cores;
+
+    /**
+     * The number of processors granted to the sorts in flight.
+     */
+    private int coresInUse;
+
+    /**
+     * The number of sorts waiting for a free processor.
+     */
+    private int waitingSorts;
+
+    CoreBudget(int cores) {
+        this.cores = cores;
+    }
+
+    /**
+     * Runs {@code sort} with at most {@code threads} threads. The sorts with
+     * an explicit parallelism and the single-threaded sorts bypass the budget.
+     *
+     * @param threads the number of threads the sort could use.
+     * @param sorter  the sorter whose configuration is consulted.
+     * @param sort    the sort accepting the number of threads granted.
+     */
+    static void run(int threads, RadixSorter sorter, IntConsumer sort) {
+        if (threads == 1 || sorter.getConfig().getParallelism() != 0) {
+            sort.accept(threads);
+            return;
+        }
+
+        int grantedThreads = GLOBAL.acquire(threads);
+
+        try {
+            sort.accept(grantedThreads);
+        } finally {
+            GLOBAL.release(grantedThreads);
+        }
+    }
+
+    /**
+     * Grants at most {@code desiredCores} of the free processors without
+     * waiting.
+     *
+     * @param desiredCores the number of processors the sort could use.
+     * @return the number of processors granted, at least one.
+     */
+    synchronized int acquire(int desiredCores) {
+        return grant(desiredCores);
+    }
+
+    /**
+     * Waits until a processor is free and grants at most
+     * {@code desiredCores} of the free processors. An interrupt does not end
+     * the wait, but is preserved for the caller.
+     *
+     * @param desiredCores the number of processors the sort could use.
+     * @return the number of processors granted, at least one.
+     */
+    synchronized int acquireWaiting(int desiredCores) {
+        boolean interrupted = false;
+        waitingSorts++;
+
+        while (coresInUse >= cores) {
+            try {
+                wait();
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+
+        waitingSorts--;
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        return grant(desiredCores);
+    }
+
+    /**
+     * Returns the processors granted to a sort.
+     *
+     * @param grantedCores the number of processors granted.
+     */
+    synchronized void release(int grantedCores) {
+        coresInUse -= grantedCores;
+        notifyAll();
+    }
+
+    synchronized int getCoresInUse() {
+        return coresInUse;
+    }
+
+    private int grant(int desiredCores) {
+        // Leave the rest of the free processors to the waiting sorts:
+        int freeCores = waitingSorts == 0 ? cores - coresInUse : 1;
+        int grantedCores = Math.max(1, Math.min(desiredCores, freeCores));
+        coresInUse += grantedCores;
+        return grantedCores;
+    }
+}
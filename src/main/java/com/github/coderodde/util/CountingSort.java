@@ -0,0 +1,141 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * This class implements the parallel counting sort for the ranges with few
+ * distinct keys. Each thread counts the keys of its own subrange, the counts
+ * are summed up, and the sorted range is written directly into the input
+ * array, each thread filling a chunk of nearly equal length. The counters are
+ * kept in the auxiliary buffer of the sorter, which is not needed otherwise.
+ * The threads are capped so that the counters never outnumber the elements
+ * of the range.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class CountingSort {
+
+    private CountingSort() {
+
+    }
+
+    /**
+     * Sorts the range
+     * {@code array[fromIndex], ..., array[fromIndex + rangeLength - 1]} whose
+     * elements are all within
+     * {@code minimum, ..., minimum + keyRange - 1}.
+     *
+     * @param array       the array holding the range to sort.
+     * @param fromIndex   the starting index of the range to sort.
+     * @param rangeLength the length of the range to sort.
+     * @param minimum     the minimum element of the range.
+     * @param keyRange    the number of possible distinct elements.
+     * @param threads     the maximum number of threads to use.
+     * @param sorter      the sorter providing the executor and the buffer.
+     */
+    static void sortImpl(int[] array,
+                         int fromIndex,
+                         int rangeLength,
+                         int minimum,
+                         int keyRange,
+                         int threads,
+                         RadixSorter sorter) {
+
+        // Keep the counts within the buffer of the range length. As
+        // 'keyRange <= rangeLength', at least one thread remains:
+        int countingThreads = Math.min(threads, rangeLength / keyRange);
+
+        // Row 't' of 'counts' holds the counts of the thread 't':
+        int[] counts = sorter.getBuffer(countingThreads * keyRange);
+        Executor executor = sorter.getExecutor();
+        Runnable[] tasks = new Runnable[countingThreads];
+        int subrangeLength = rangeLength / countingThreads;
+
+        for (int t = 0; t != countingThreads; t++) {
+            int countsOffset = t * keyRange;
+            int subrangeFromIndex = fromIndex + t * subrangeLength;
+            int subrangeToIndex = t == countingThreads - 1 ?
+                    fromIndex + rangeLength :
+                    subrangeFromIndex + subrangeLength;
+
+            tasks[t] = () -> {
+                Arrays.fill(counts, countsOffset, countsOffset + keyRange, 0);
+
+                int offset = countsOffset - minimum;
+
+                for (int i = subrangeFromIndex; i != subrangeToIndex; i++) {
+                    counts[offset + array[i]]++;
+                }
+            };
+        }
+
+        ExecutorTasks.invokeAll(executor, tasks);
+
+        if (countingThreads > 1) {
+            // Sum up the rows into the row 0:
+            ExecutorTasks.splitRange(tasks, keyRange, (from, to) -> () -> {
+                for (int key = from; key != to; key++) {
+                    int count = counts[key];
+
+                    for (int t = 1; t != countingThreads; t++) {
+                        count += counts[t * keyRange + key];
+                    }
+
+                    counts[key] = count;
+                }
+            });
+
+            ExecutorTasks.invokeAll(executor, tasks);
+        }
+
+        // Split the keys such that each thread writes about the same number of
+        // elements:
+        int keyFrom = 0;
+        int writeIndex = fromIndex;
+        int task = 0;
+        int written = 0;
+        int optimalWriteLength = rangeLength / countingThreads;
+
+        for (int key = 0; key != keyRange; key++) {
+            written += counts[key];
+
+            // The last task takes all the remaining keys:
+            if ((task != countingThreads - 1
+                    && written >= optimalWriteLength * (task + 1))
+                    || key == keyRange - 1) {
+                int taskKeyFrom = keyFrom;
+                int taskKeyTo = key + 1;
+                int taskWriteIndex = writeIndex;
+
+                tasks[task++] = () -> fill(array,
+                                           counts,
+                                           taskWriteIndex,
+                                           taskKeyFrom,
+                                           taskKeyTo,
+                                           minimum);
+
+                keyFrom = taskKeyTo;
+                writeIndex = fromIndex + written;
+            }
+        }
+
+        ExecutorTasks.invokeAll(executor, Arrays.copyOf(tasks, task));
+    }
+
+    private static void fill(int[] array,
+                             int[] counts,
+                             int writeIndex,
+                             int keyFrom,
+                             int keyTo,
+                             int minimum) {
+
+        for (int key = keyFrom; key != keyTo; key++) {
+            int count = counts[key];
+            Arrays.fill(array, writeIndex, writeIndex + count, minimum + key);
+            writeIndex += count;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.github.coderodde.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class provides the facilities for running a batch of sorting tasks on
+ * an arbitrary {@link Executor}. All the tasks but the rightmost one are
+ * submitted to the executor, the rightmost task is run in the calling thread.
+ * When joining a task that no worker has picked up yet, the calling thread
+ * runs it by itself. This makes the nested (recursive) batches deadlock-free
+ * even on bounded executors: a thread never waits for a task that is not
+ * running.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class ExecutorTasks {
+
+    private ExecutorTasks() {
+
+    }
+
+    /**
+     * Runs all the {@code tasks} and returns only after all of them are
+     * completed. If any task throws, the first failure is rethrown after all
+     * the tasks are completed.
+     *
+     * @param executor the executor to submit the tasks to.
+     * @param tasks    the tasks to run.
+     */
+    static void invokeAll(Executor executor, Runnable[] tasks) {
+        int lastTaskIndex = tasks.length - 1;
+        ClaimableTask[] claimableTasks = new ClaimableTask[lastTaskIndex];
+
+        // Submit all but the rightmost task:
+        for (int i = 0; i != lastTaskIndex; i++) {
+            ClaimableTask claimableTask = new ClaimableTask(tasks[i]);
+            claimableTasks[i] = claimableTask;
+
+            try {
+                executor.execute(claimableTask);
+            } catch (RejectedExecutionException ex) {
+                // Nothing to do, the task will be run in this thread upon
+                // joining.
+            }
+        }
+
+        Throwable failure = null;
+
+        // Run the rightmost task in this thread:
+        try {
+            tasks[lastTaskIndex].run();
+        } catch (Throwable throwable) {
+            failure = throwable;
+        }
+
+        // Join all the submitted tasks:
+        for (ClaimableTask claimableTask : claimableTasks) {
+            Throwable taskFailure = claimableTask.join();
+
+            if (failure == null) {
+                failure = taskFailure;
+            }
+        }
+
+        if (failure != null) {
+            rethrow(failure);
+        }
+    }
+
+    /**
+     * Runs all the {@code tasks} as fork/join tasks in {@code pool} so that the
+     * idle workers steal the tasks not started yet. Returns only after all the
+     * tasks are completed. If the calling thread is not a worker of 
+     * {@code pool}, it waits while the tasks run in the pool.
+     *
+     * @param pool  the pool to run the tasks in.
+     * @param tasks the tasks to run.
+     */
+    static void forkAll(ForkJoinPool pool, Runnable[] tasks) {
+        if (ForkJoinTask.getPool() != pool) {
+            pool.invoke(ForkJoinTask.adapt(() -> forkAll(pool, tasks)));
+            return;
+        }
+
+        ForkJoinTask<?>[] forkJoinTasks = new ForkJoinTask<?>[tasks.length];
+
+        for (int i = 1; i < tasks.length; i++) {
+            forkJoinTasks[i] = ForkJoinTask.adapt(tasks[i]).fork();
+        }
+
+        // Run the leftmost task in this thread:
+        forkJoinTasks[0] = ForkJoinTask.adapt(tasks[0]);
+        forkJoinTasks[0].quietlyInvoke();
+        joinAll(forkJoinTasks, tasks.length);
+    }
+
+    /**
+     * Waits for the first {@code count} {@code tasks} to complete. If any task
+     * failed, rethrows the failure after all the tasks are completed.
+     *
+     * @param tasks the forked tasks.
+     * @param count the number of the tasks.
+     */
+    static void joinAll(ForkJoinTask<?>[] tasks, int count) {
+        Throwable failure = null;
+
+        // Join the last forked task first, it is likely still in the queue of
+        // this thread:
+        for (int i = count - 1; i >= 0; i--) {
+            tasks[i].quietlyJoin();
+
+            if (failure == null) {
+                failure = tasks[i].getException();
+            }
+        }
+
+        if (failure != null) {
+            rethrow(failure);
+        }
+    }
+
+    /**
+     * Splits the range {@code 0, ..., rangeLength - 1} into 
+     * {@code tasks.length} nearly equal subranges and stores a task for each
+     * subrange in {@code tasks}.
+     *
+     * @param tasks            the array to store the tasks in.
+     * @param rangeLength      the length of the range to split.
+     * @param rangeTaskFactory the factory creating a task for a subrange.
+     */
+    static void splitRange(Runnable[] tasks,
+                           int rangeLength,
+                           RangeTaskFactory rangeTaskFactory) {
+        int subrangeLength = rangeLength / tasks.length;
+
+        for (int i = 0; i != tasks.length; i++) {
+            int fromIndex = i * subrangeLength;
+            int toIndex = i == tasks.length - 1 ?
+                    rangeLength :
+                    fromIndex + subrangeLength;
+
+            tasks[i] = rangeTaskFactory.create(fromIndex, toIndex);
+        }
+    }
+
+    /**
+     * Copies in parallel {@code rangeLength} elements from {@code source} to
+     * {@code target}.
+     */
+    static void parallelCopy(Object source,
+                             int sourceFromIndex,
+                             Object target,
+                             int targetFromIndex,
+                             int rangeLength,
+                             int threads,
+                             Executor executor) {
+        Runnable[] tasks = new Runnable[threads];
+
+        splitRange(tasks, rangeLength, (fromIndex, toIndex) -> () -> {
+            System.arraycopy(source,
+                             sourceFromIndex + fromIndex,
+                             target,
+                             targetFromIndex + fromIndex,
+                             toIndex - fromIndex);
+        });
+
+        invokeAll(executor, tasks);
+    }
+
+    static void rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+
+        throw new RuntimeException("A sorting task failed.", throwable);
+    }
+
+    /**
+     * Creates a task processing a subrange.
+     */
+    @FunctionalInterface
+    interface RangeTaskFactory {
+        Runnable create(int fromIndex, int toIndex);
+    }
+
+    /**
+     * A task that is run exactly once, either by an executor worker or by the
+     * thread joining it, whichever claims it first.
+     */
+    private static final class ClaimableTask
+            implements Runnable, ForkJoinPool.ManagedBlocker {
+
+        private static final int NEW = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+
+        private final AtomicInteger state = new AtomicInteger(NEW);
+        private final Runnable task;
+        private Throwable failure;
+
+        ClaimableTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(NEW, RUNNING)) {
+                // Already claimed by another thread.
+                return;
+            }
+
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                failure = throwable;
+            } finally {
+                synchronized (this) {
+                    state.set(DONE);
+                    notifyAll();
+                }
+            }
+        }
+
+        Throwable join() {
+            // Run the task in this thread unless a worker has claimed it:
+            run();
+
+            boolean interrupted = false;
+
+            while (!isReleasable()) {
+                try {
+                    ForkJoinPool.managedBlock(this);
+                } catch (InterruptedException ex) {
+                    // Cannot leave while the task is writing to the arrays:
+                    interrupted = true;
+                }
+            }
+
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            return failure;
+        }
+
+        @Override
+        public synchronized boolean block() throws InterruptedException {
+            while (state.get() != DONE) {
+                wait();
+            }
+
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return state.get() == DONE;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.coderodde.util;
+
+/**
+ * This class implements the parallel radix sort for {@code float} and
+ * {@code double} arrays. The values are mapped to integer keys whose signed
+ * order is the order of {@link java.util.Arrays#sort(float[])}: the bits of a
+ * non-negative value are kept as is, the bits of a negative value, except the
+ * sign bit, are flipped. The keys are then sorted with the {@code int} or
+ * {@code long} radix sort and mapped back. As the mapping is its own inverse,
+ * the same method maps the keys back to the values.
+ * <p>
+ * {@code -0.0} is ordered before {@code 0.0}, and all the NaN values end up in
+ * the end of the range. The NaN values are canonicalized as in
+ * {@link Float#floatToIntBits(float)}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class FloatingPointRadixSort {
+
+    private FloatingPointRadixSort() {
+
+    }
+
+    static void sortImpl(float[] array,
+                         int fromIndex,
+                         int toIndex,
+                         RadixSorter sorter) {
+        ParallelRadixSort.rangeCheck(array.length, fromIndex, toIndex);
+
+        int rangeLength = toIndex - fromIndex;
+
+        if (rangeLength < 2) {
+            return;
+        }
+
+        int[] keys = sorter.getIntKeys(rangeLength);
+        Runnable[] tasks = new Runnable[getThreads(rangeLength, sorter)];
+
+        ExecutorTasks.splitRange(tasks, rangeLength, (from, to) -> () -> {
+            for (int i = from; i != to; i++) {
+                keys[i] = toKey(Float.floatToIntBits(array[fromIndex + i]));
+            }
+        });
+
+        ExecutorTasks.invokeAll(sorter.getExecutor(), tasks);
+        ParallelRadixSort.sortImpl(keys, 0, rangeLength, sorter);
+
+        ExecutorTasks.splitRange(tasks, rangeLength, (from, to) -> () -> {
+            for (int i = from; i != to; i++) {
+                array[fromIndex + i] = Float.intBitsToFloat(toKey(keys[i]));
+            }
+        });
+
+        ExecutorTasks.invokeAll(sorter.getExecutor(), tasks);
+    }
+
+    static void sortImpl(double[] array,
+                         int fromIndex,
+                         int toIndex,
+                         RadixSorter sorter) {
+        ParallelRadixSort.rangeCheck(array.length, fromIndex, toIndex);
+
+        int rangeLength = toIndex - fromIndex;
+
+        if (rangeLength < 2) {
+            return;
+        }
+
+        long[] keys = sorter.getLongKeys(rangeLength);
+        Runnable[] tasks = new Runnable[getThreads(rangeLength, sorter)];
+
+        ExecutorTasks.splitRange(tasks, rangeLength, (from, to) -> () -> {
+            for (int i = from; i != to; i++) {
+                keys[i] =
+                        toKey(Double.doubleToLongBits(array[fromIndex + i]));
+            }
+        });
+
+        ExecutorTasks.invokeAll(sorter.getExecutor(), tasks);
+        LongRadixSort.sortImpl(keys, 0, rangeLength, sorter);
+
+        ExecutorTasks.splitRange(tasks, rangeLength, (from, to) -> () -> {
+            for (int i = from; i != to; i++) {
+                array[fromIndex + i] = Double.longBitsToDouble(toKey(keys[i]));
+            }
+        });
+
+        ExecutorTasks.invokeAll(sorter.getExecutor(), tasks);
+    }
+
+    /**
+     * Maps the bits of a {@code float} to a key and back.
+     *
+     * @param bits the bits of a {@code float} value or a key.
+     * @return the key or the bits of a {@code float} value.
+     */
+    static int toKey(int bits) {
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    /**
+     * Maps the bits of a {@code double} to a key and back.
+     *
+     * @param bits the bits of a {@code double} value or a key.
+     * @return the key or the bits of a {@code double} value.
+     */
+    static long toKey(long bits) {
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static int getThreads(int rangeLength, RadixSorter sorter) {
+        int threads =
+                Math.min(
+                        sorter.getParallelism(),
+                        rangeLength / sorter.getConfig()
+                                            .getMinimumThreadWorkload());
+
+        return Math.max(threads, 1);
+    }
+}
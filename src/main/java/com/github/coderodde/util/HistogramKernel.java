@@ -0,0 +1,84 @@
+package com.github.coderodde.util;
+
+/**
+ * This interface specifies the counting loops of the radix sort that may be
+ * replaced by a SIMD implementation. The implementation using the Vector API
+ * is compiled only by the {@code vector} Maven profile, and is used only if
+ * it loads at runtime; otherwise the scalar loops in 
+ * {@link ParallelRadixSort} are used.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+interface HistogramKernel {
+
+    /**
+     * The name of the class implementing this interface with the Vector API.
+     */
+    String VECTOR_KERNEL_CLASS_NAME = 
+            "com.github.coderodde.util.VectorHistogramKernel";
+
+    /**
+     * The system property disabling the Vector API kernel when set to 
+     * {@code false}.
+     */
+    String VECTOR_KERNEL_PROPERTY = "com.github.coderodde.util.vector";
+
+    /**
+     * The Vector API kernel, or {@code null} if not available.
+     */
+    HistogramKernel VECTOR_KERNEL = loadVectorKernel();
+
+    /**
+     * Adds to {@code bucketSizeMap} the number of elements in 
+     * {@code array[fromIndex], ..., array[toIndex - 1]} falling into each 
+     * bucket at the recursion depth {@code recursionDepth}.
+     *
+     * @param array          the array holding the range.
+     * @param fromIndex      the starting index of the range.
+     * @param toIndex        the ending index of the range.
+     * @param recursionDepth the recursion depth.
+     * @param bucketSizeMap  the bucket sizes to add to.
+     */
+    void countBytes(int[] array,
+                    int fromIndex,
+                    int toIndex,
+                    int recursionDepth,
+                    int[] bucketSizeMap);
+
+    /**
+     * Adds to the row {@code d} of {@code histogram} the number of elements in
+     * {@code array[fromIndex], ..., array[toIndex - 1]} falling into each 
+     * bucket at the recursion depth {@code d}, for all the depths. Stores the
+     * minimum and the maximum of the range in {@code extremes[0]} and 
+     * {@code extremes[1]}.
+     *
+     * @param array     the non-empty array range.
+     * @param fromIndex the starting index of the range.
+     * @param toIndex   the ending index of the range.
+     * @param histogram the histogram to add to.
+     * @param extremes  the array receiving the minimum and the maximum.
+     */
+    void countAllBytes(int[] array,
+                       int fromIndex,
+                       int toIndex,
+                       int[] histogram,
+                       int[] extremes);
+
+    private static HistogramKernel loadVectorKernel() {
+        if (!Boolean.parseBoolean(
+                System.getProperty(VECTOR_KERNEL_PROPERTY, "true"))) {
+            return null;
+        }
+
+        try {
+            return (HistogramKernel) Class.forName(VECTOR_KERNEL_CLASS_NAME)
+                                          .getDeclaredConstructor()
+                                          .newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            // Not compiled in, or jdk.incubator.vector is not present.
+            return null;
+        }
+    }
+}
@@ -0,0 +1,575 @@
+package com.github.coderodde.util;
+
+import static com.github.coderodde.util.ParallelRadixSort.BUCKETS;
+import static com.github.coderodde.util.ParallelRadixSort.DEEPEST_RECURSION_DEPTH;
+import static com.github.coderodde.util.ParallelRadixSort.getBucketIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class implements the in-place variant of the parallel MSD radix sort.
+ * The bucket sizes are computed exactly as in {@link ParallelRadixSort}, yet
+ * the elements are permuted into their buckets within the input array instead
+ * of being scattered into a buffer. The auxiliary space is
+ * {@code O(threads * BUCKETS)}.
+ * <p>
+ * The parallel permutation is speculative (as in PARADIS): each bucket's
+ * unprocessed region is split evenly between the threads, and each thread
+ * runs an American flag sort on its own parts only. When the part of the
+ * destination bucket is exhausted, the element is left misplaced. A repair
+ * phase then moves all the misplaced elements to the tail of their current
+ * bucket and the next round permutes only them. A single-threaded round always
+ * finishes the permutation, so the rounds fall back to a single thread when
+ * the remaining work is small or the last round made no progress.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class InPlaceRadixSort {
+
+    private InPlaceRadixSort() {
+
+    }
+
+    /**
+     * Sorts in-place the range
+     * {@code array[fromIndex], ..., array[toIndex - 1]}.
+     *
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param sorter    the sorter providing the executor and the bucket maps.
+     */
+    static void sortImpl(int[] array,
+                         int fromIndex,
+                         int toIndex,
+                         RadixSorter sorter) {
+
+        ParallelRadixSort.rangeCheck(array.length, fromIndex, toIndex);
+
+        int rangeLength = toIndex - fromIndex;
+
+        if (rangeLength < 2) {
+            return;
+        }
+
+        int threads =
+                Math.min(
+                        sorter.getParallelism(),
+                        rangeLength / sorter.getConfig()
+                                            .getMinimumThreadWorkload());
+
+        threads = Math.max(threads, 1);
+
+        CoreBudget.run(
+                threads,
+                sorter,
+                grantedThreads ->
+                        sortRange(
+                                array,
+                                fromIndex,
+                                rangeLength,
+                                grantedThreads,
+                                sorter));
+    }
+
+    /**
+     * Sorts the range of length {@code rangeLength} starting at
+     * {@code fromIndex} using {@code threads} threads.
+     *
+     * @param array       the array holding the range to sort.
+     * @param fromIndex   the starting index of the range to sort.
+     * @param rangeLength the length of the range to sort.
+     * @param threads     the number of threads to use.
+     * @param sorter      the sorter providing the resources.
+     */
+    private static void sortRange(int[] array,
+                                  int fromIndex,
+                                  int rangeLength,
+                                  int threads,
+                                  RadixSorter sorter) {
+        int differingBits =
+                ParallelRadixSort.scanRange(array,
+                                            fromIndex,
+                                            rangeLength,
+                                            threads,
+                                            sorter.getExecutor())
+                                 .differingBits;
+
+        if (differingBits == 0) {
+            // All the elements are equal, nothing to sort:
+            return;
+        }
+
+        // Skip the leading bytes that are the same in all the elements:
+        int recursionDepth =
+                Integer.numberOfLeadingZeros(differingBits) / Byte.SIZE;
+
+        if (threads > 1) {
+            parallelInPlaceSortImpl(array,
+                                    fromIndex,
+                                    rangeLength,
+                                    recursionDepth,
+                                    threads,
+                                    sorter);
+        } else {
+            BucketMaps bucketMaps =
+                    sorter.acquireBucketMaps(
+                            DEEPEST_RECURSION_DEPTH + 1,
+                            BUCKETS);
+
+            americanFlagSort(array,
+                             fromIndex,
+                             rangeLength,
+                             recursionDepth,
+                             bucketMaps,
+                             sorter.getConfig().getInsertionSortThreshold());
+            sorter.releaseBucketMaps(bucketMaps);
+        }
+    }
+
+    /**
+     * Sorts in-place the range
+     * {@code array[fromIndex], ..., array[fromIndex + rangeLength - 1]}
+     * considering the bytes from the {@code recursionDepth}th onwards.
+     *
+     * @param array          the array holding the range to sort.
+     * @param fromIndex      the starting index of the range to sort.
+     * @param rangeLength    the length of the range to sort.
+     * @param recursionDepth the recursion depth.
+     * @param bucketMaps     the bucket maps, one row per recursion depth.
+     * @param smallSortThreshold the length at or below which the range is
+     *                           sorted by {@link ParallelRadixSort#smallSort}.
+     */
+    static void americanFlagSort(int[] array,
+                                 int fromIndex,
+                                 int rangeLength,
+                                 int recursionDepth,
+                                 BucketMaps bucketMaps,
+                                 int smallSortThreshold) {
+
+        if (rangeLength <= smallSortThreshold) {
+            ParallelRadixSort.smallSort(array, fromIndex, rangeLength);
+            return;
+        }
+
+        bucketMaps.clearRow(recursionDepth);
+
+        int[] bucketSizeMap = bucketMaps.bucketSizeMaps[recursionDepth];
+        int[] headMap       = bucketMaps.startIndexMaps[recursionDepth];
+        int[] tailMap       = bucketMaps.processedMaps [recursionDepth];
+        int toIndex = fromIndex + rangeLength;
+
+        for (int i = fromIndex; i != toIndex; i++) {
+            bucketSizeMap[getBucketIndex(array[i], recursionDepth)]++;
+        }
+
+        if (bucketSizeMap[getBucketIndex(array[fromIndex], recursionDepth)]
+                == rangeLength) {
+            // All the elements fall into the same bucket, continue with the
+            // next byte:
+            if (recursionDepth != DEEPEST_RECURSION_DEPTH) {
+                americanFlagSort(array,
+                                 fromIndex,
+                                 rangeLength,
+                                 recursionDepth + 1,
+                                 bucketMaps,
+                                 smallSortThreshold);
+            }
+
+            return;
+        }
+
+        headMap[0] = fromIndex;
+        tailMap[0] = fromIndex + bucketSizeMap[0];
+
+        for (int i = 1; i != BUCKETS; i++) {
+            headMap[i] = tailMap[i - 1];
+            tailMap[i] = headMap[i] + bucketSizeMap[i];
+        }
+
+        permute(array, headMap, tailMap, recursionDepth);
+
+        if (recursionDepth == DEEPEST_RECURSION_DEPTH) {
+            return;
+        }
+
+        // Now headMap[i] == tailMap[i] for each bucket 'i':
+        for (int i = 0; i != BUCKETS; i++) {
+            int bucketSize = bucketSizeMap[i];
+
+            if (bucketSize > 1) {
+                americanFlagSort(array,
+                                 tailMap[i] - bucketSize,
+                                 bucketSize,
+                                 recursionDepth + 1,
+                                 bucketMaps,
+                                 smallSortThreshold);
+            }
+        }
+    }
+
+    /**
+     * Moves the elements to their buckets. The bucket {@code i} may use the
+     * positions {@code headMap[i], ..., tailMap[i] - 1}. If the positions of
+     * a bucket are exhausted, the elements of that bucket are left where they
+     * are. Upon return, {@code headMap[i] == tailMap[i]} for all buckets.
+     *
+     * @param array          the array to permute.
+     * @param headMap        the next unprocessed position of each bucket.
+     * @param tailMap        the end of the positions of each bucket.
+     * @param recursionDepth the recursion depth.
+     */
+    private static void permute(int[] array,
+                                int[] headMap,
+                                int[] tailMap,
+                                int recursionDepth) {
+
+        for (int i = 0; i != BUCKETS; i++) {
+            while (headMap[i] < tailMap[i]) {
+                int datum = array[headMap[i]];
+                int bucketKey = getBucketIndex(datum, recursionDepth);
+
+                while (bucketKey != i
+                        && headMap[bucketKey] < tailMap[bucketKey]) {
+                    int tmp = array[headMap[bucketKey]];
+                    array[headMap[bucketKey]++] = datum;
+                    datum = tmp;
+                    bucketKey = getBucketIndex(datum, recursionDepth);
+                }
+
+                array[headMap[i]++] = datum;
+            }
+        }
+    }
+
+    private static void parallelInPlaceSortImpl(int[] array,
+                                                int fromIndex,
+                                                int rangeLength,
+                                                int recursionDepth,
+                                                int threads,
+                                                RadixSorter sorter) {
+
+        // Rows 0, ..., threads - 1 are for the threads, the last row holds
+        // the global bucket heads and tails:
+        BucketMaps bucketMaps = sorter.acquireBucketMaps(threads + 1, BUCKETS);
+        int[] globalBucketSizeMap = bucketMaps.globalBucketSizeMap;
+        int[] globalHeadMap = bucketMaps.startIndexMaps[threads];
+        int[] globalTailMap = bucketMaps.processedMaps [threads];
+
+        countBuckets(array,
+                     fromIndex,
+                     rangeLength,
+                     recursionDepth,
+                     threads,
+                     sorter,
+                     bucketMaps);
+
+        if (globalBucketSizeMap[getBucketIndex(array[fromIndex],
+                                               recursionDepth)]
+                == rangeLength) {
+            // All the elements fall into the same bucket, continue with the
+            // next byte:
+            sorter.releaseBucketMaps(bucketMaps);
+
+            if (recursionDepth != DEEPEST_RECURSION_DEPTH) {
+                parallelInPlaceSortImpl(array,
+                                        fromIndex,
+                                        rangeLength,
+                                        recursionDepth + 1,
+                                        threads,
+                                        sorter);
+            }
+
+            return;
+        }
+
+        globalHeadMap[0] = fromIndex;
+        globalTailMap[0] = fromIndex + globalBucketSizeMap[0];
+
+        for (int i = 1; i != BUCKETS; i++) {
+            globalHeadMap[i] = globalTailMap[i - 1];
+            globalTailMap[i] = globalHeadMap[i] + globalBucketSizeMap[i];
+        }
+
+        int remaining = rangeLength;
+        int roundThreads = threads;
+
+        while (remaining != 0) {
+            if (remaining < sorter.getConfig().getMinimumThreadWorkload()) {
+                roundThreads = 1;
+            }
+
+            permuteRound(array,
+                         recursionDepth,
+                         roundThreads,
+                         sorter,
+                         bucketMaps,
+                         globalHeadMap,
+                         globalTailMap);
+
+            int newRemaining = 0;
+
+            for (int i = 0; i != BUCKETS; i++) {
+                newRemaining += globalTailMap[i] - globalHeadMap[i];
+            }
+
+            if (newRemaining == remaining) {
+                // No progress, finish with a single thread:
+                roundThreads = 1;
+            }
+
+            remaining = newRemaining;
+        }
+
+        if (recursionDepth == DEEPEST_RECURSION_DEPTH) {
+            sorter.releaseBucketMaps(bucketMaps);
+            return;
+        }
+
+        List<Runnable> sorters = new ArrayList<>(threads);
+        int optimalSubrangeLength = rangeLength / threads;
+        int bucketFromIndex = fromIndex;
+        int packed = 0;
+        int frontBucket = 0;
+
+        for (int i = 0; i != BUCKETS; i++) {
+            packed += globalBucketSizeMap[i];
+
+            if (packed >= optimalSubrangeLength || i == BUCKETS - 1) {
+                int subrangeThreads =
+                        Math.max(1, (int)((long) threads * packed
+                                                         / rangeLength));
+
+                sorters.add(new BucketGroupSorter(
+                        array,
+                        bucketFromIndex,
+                        Arrays.copyOfRange(globalBucketSizeMap,
+                                           frontBucket,
+                                           i + 1),
+                        recursionDepth + 1,
+                        subrangeThreads,
+                        sorter));
+
+                bucketFromIndex += packed;
+                frontBucket = i + 1;
+                packed = 0;
+            }
+        }
+
+        sorter.releaseBucketMaps(bucketMaps);
+        ExecutorTasks.invokeAll(sorter.getExecutor(),
+                                sorters.toArray(new Runnable[0]));
+    }
+
+    private static void countBuckets(int[] array,
+                                     int fromIndex,
+                                     int rangeLength,
+                                     int recursionDepth,
+                                     int threads,
+                                     RadixSorter sorter,
+                                     BucketMaps bucketMaps) {
+
+        int subrangeLength = rangeLength / threads;
+        int startIndex = fromIndex;
+
+        ParallelRadixSort.BucketSizeCounter[] bucketSizeCounters =
+                new ParallelRadixSort.BucketSizeCounter[threads];
+
+        for (int i = 0; i != threads; i++) {
+            int endIndex = i == threads - 1 ?
+                    fromIndex + rangeLength :
+                    startIndex + subrangeLength;
+
+            bucketMaps.clearRow(i);
+            bucketSizeCounters[i] =
+                    new ParallelRadixSort.BucketSizeCounter(
+                            bucketMaps.bucketSizeMaps[i],
+                            array,
+                            startIndex,
+                            endIndex,
+                            recursionDepth);
+
+            startIndex = endIndex;
+        }
+
+        ExecutorTasks.invokeAll(sorter.getExecutor(), bucketSizeCounters);
+
+        int[] globalBucketSizeMap = bucketMaps.globalBucketSizeMap;
+        Arrays.fill(globalBucketSizeMap, 0);
+
+        for (int i = 0; i != threads; i++) {
+            int[] localBucketSizeMap = bucketMaps.bucketSizeMaps[i];
+
+            for (int j = 0; j != BUCKETS; j++) {
+                globalBucketSizeMap[j] += localBucketSizeMap[j];
+            }
+        }
+    }
+
+    /**
+     * Runs one speculative permutation round followed by the repair phase.
+     * Upon return, the prefix
+     * {@code globalTailMap[i] - globalBucketSizeMap[i], ..., globalHeadMap[i] - 1}
+     * of each bucket {@code i} holds only the elements of that bucket.
+     */
+    private static void permuteRound(int[] array,
+                                     int recursionDepth,
+                                     int threads,
+                                     RadixSorter sorter,
+                                     BucketMaps bucketMaps,
+                                     int[] globalHeadMap,
+                                     int[] globalTailMap) {
+
+        // Split the unprocessed region of each bucket evenly:
+        for (int bucket = 0; bucket != BUCKETS; bucket++) {
+            int head = globalHeadMap[bucket];
+            int partLength = (globalTailMap[bucket] - head) / threads;
+
+            for (int t = 0; t != threads; t++) {
+                bucketMaps.startIndexMaps[t][bucket] = head;
+                head = t == threads - 1 ?
+                        globalTailMap[bucket] :
+                        head + partLength;
+
+                bucketMaps.processedMaps[t][bucket] = head;
+            }
+        }
+
+        Runnable[] permuters = new Runnable[threads];
+        Runnable[] repairers = new Runnable[threads];
+        int bucketsPerRepairer = BUCKETS / threads;
+
+        for (int t = 0; t != threads; t++) {
+            int[] headMap = bucketMaps.startIndexMaps[t];
+            int[] tailMap = bucketMaps.processedMaps[t];
+            int fromBucket = t * bucketsPerRepairer;
+            int toBucket = t == threads - 1 ?
+                    BUCKETS :
+                    fromBucket + bucketsPerRepairer;
+
+            permuters[t] = () -> permute(array,
+                                         headMap,
+                                         tailMap,
+                                         recursionDepth);
+
+            repairers[t] = () -> repair(array,
+                                        fromBucket,
+                                        toBucket,
+                                        recursionDepth,
+                                        globalHeadMap,
+                                        globalTailMap);
+        }
+
+        ExecutorTasks.invokeAll(sorter.getExecutor(), permuters);
+        ExecutorTasks.invokeAll(sorter.getExecutor(), repairers);
+    }
+
+    /**
+     * Moves the misplaced elements of the buckets
+     * {@code fromBucket, ..., toBucket - 1} to the tails of the buckets and
+     * advances the bucket heads past the correctly placed elements.
+     */
+    private static void repair(int[] array,
+                               int fromBucket,
+                               int toBucket,
+                               int recursionDepth,
+                               int[] globalHeadMap,
+                               int[] globalTailMap) {
+
+        for (int bucket = fromBucket; bucket != toBucket; bucket++) {
+            int left = globalHeadMap[bucket];
+            int right = globalTailMap[bucket] - 1;
+
+            while (left <= right) {
+                if (getBucketIndex(array[left], recursionDepth) == bucket) {
+                    left++;
+                } else if (getBucketIndex(array[right], recursionDepth)
+                        != bucket) {
+                    right--;
+                } else {
+                    int tmp = array[left];
+                    array[left++] = array[right];
+                    array[right--] = tmp;
+                }
+            }
+
+            globalHeadMap[bucket] = left;
+        }
+    }
+
+    /**
+     * Sorts a group of consecutive buckets, each in a parallel or in a
+     * sequential manner.
+     */
+    private static final class BucketGroupSorter implements Runnable {
+
+        private final int[] array;
+        private final int fromIndex;
+        private final int[] bucketSizes;
+        private final int recursionDepth;
+        private final int threads;
+        private final RadixSorter sorter;
+
+        BucketGroupSorter(int[] array,
+                          int fromIndex,
+                          int[] bucketSizes,
+                          int recursionDepth,
+                          int threads,
+                          RadixSorter sorter) {
+
+            this.array = array;
+            this.fromIndex = fromIndex;
+            this.bucketSizes = bucketSizes;
+            this.recursionDepth = recursionDepth;
+            this.threads = threads;
+            this.sorter = sorter;
+        }
+
+        @Override
+        public void run() {
+            BucketMaps bucketMaps = null;
+            int bucketFromIndex = fromIndex;
+
+            for (int bucketSize : bucketSizes) {
+                int bucketThreads =
+                        Math.min(threads,
+                                 bucketSize /
+                                 sorter.getConfig()
+                                       .getMinimumThreadWorkload());
+
+                if (bucketThreads > 1) {
+                    parallelInPlaceSortImpl(array,
+                                            bucketFromIndex,
+                                            bucketSize,
+                                            recursionDepth,
+                                            bucketThreads,
+                                            sorter);
+                } else if (bucketSize > 1) {
+                    if (bucketMaps == null) {
+                        bucketMaps =
+                                sorter.acquireBucketMaps(
+                                        DEEPEST_RECURSION_DEPTH + 1,
+                                        BUCKETS);
+                    }
+
+                    americanFlagSort(array,
+                                     bucketFromIndex,
+                                     bucketSize,
+                                     recursionDepth,
+                                     bucketMaps,
+                                     sorter.getConfig()
+                                           .getInsertionSortThreshold());
+                }
+
+                bucketFromIndex += bucketSize;
+            }
+
+            if (bucketMaps != null) {
+                sorter.releaseBucketMaps(bucketMaps);
+            }
+        }
+    }
+}
@@ -0,0 +1,934 @@
+package com.github.coderodde.util;
+
+import static com.github.coderodde.util.ParallelRadixSort.BUCKETS;
+import static com.github.coderodde.util.ParallelRadixSort.DEEPEST_RECURSION_DEPTH;
+import static com.github.coderodde.util.ParallelRadixSort.MINIMUM_FORKED_BUCKET_SIZE;
+import static com.github.coderodde.util.ParallelRadixSort.getBucketIndex;
+import com.github.coderodde.util.BucketScheduler.BucketGroup;
+import com.github.coderodde.util.ParallelRadixSort.BucketKeyList;
+import com.github.coderodde.util.ParallelRadixSort.BucketSizeCounter;
+import com.github.coderodde.util.ParallelRadixSort.RangeScanner;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * This class implements the parallel MSD radix sort for {@code int} keys that
+ * carry a payload. The buckets are computed and distributed over the threads
+ * exactly as in {@link ParallelRadixSort}, but each scatter moves the payload
+ * of a key together with the key. The sort is stable: the payloads of equal
+ * keys keep their relative order.
+ * <p>
+ * The {@code int} payloads are scattered directly. The {@code long} payloads
+ * are not scattered; instead, the keys are sorted together with their indices,
+ * after which the payloads are gathered in parallel through the sorted
+ * indices. The same key/index sort computes the sorting permutation of an 
+ * array.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class KeyValueRadixSort {
+
+    private KeyValueRadixSort() {
+
+    }
+
+    /**
+     * Sorts the range {@code keys[fromIndex], ..., keys[toIndex - 1]} and
+     * applies the same permutation to
+     * {@code values[fromIndex], ..., values[toIndex - 1]}.
+     *
+     * @param keys      the array holding the keys to sort.
+     * @param values    the array holding the payloads of the keys.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param sorter    the sorter providing the resources.
+     */
+    static void sortImpl(int[] keys,
+                         int[] values,
+                         int fromIndex,
+                         int toIndex,
+                         RadixSorter sorter) {
+        ParallelRadixSort.rangeCheck(keys.length, fromIndex, toIndex);
+        ParallelRadixSort.rangeCheck(values.length, fromIndex, toIndex);
+
+        int rangeLength = toIndex - fromIndex;
+
+        if (rangeLength < 2) {
+            // Trivially sorted, return.
+            return;
+        }
+
+        if (rangeLength <= sorter.getConfig().getInsertionSortThreshold()) {
+            insertionSort(keys, values, fromIndex, rangeLength);
+            return;
+        }
+
+        int threads = getThreads(rangeLength, sorter);
+
+        CoreBudget.run(
+                threads,
+                sorter,
+                grantedThreads ->
+                        sortRange(
+                                keys,
+                                values,
+                                fromIndex,
+                                rangeLength,
+                                grantedThreads,
+                                sorter));
+    }
+
+    /**
+     * Sorts the range of length {@code rangeLength} starting at
+     * {@code fromIndex} using {@code threads} threads.
+     *
+     * @param keys        the array holding the keys to sort.
+     * @param values      the array holding the payloads of the keys.
+     * @param fromIndex   the starting index of the range to sort.
+     * @param rangeLength the length of the range to sort.
+     * @param threads     the number of threads to use.
+     * @param sorter      the sorter providing the resources.
+     */
+    private static void sortRange(int[] keys,
+                                  int[] values,
+                                  int fromIndex,
+                                  int rangeLength,
+                                  int threads,
+                                  RadixSorter sorter) {
+        RangeScanner rangeScanner =
+                ParallelRadixSort.scanRange(
+                        keys,
+                        fromIndex,
+                        rangeLength,
+                        threads,
+                        sorter.getExecutor());
+
+        if (rangeScanner.differingBits == 0) {
+            // All the keys are equal, the payloads stay where they are:
+            return;
+        }
+
+        // Skip the leading bytes that are the same in all the keys:
+        int recursionDepth =
+                Integer.numberOfLeadingZeros(rangeScanner.differingBits)
+                        / Byte.SIZE;
+
+        int[] keyBuffer = sorter.getBuffer(rangeLength);
+        int[] valueBuffer = sorter.getValueBuffer(rangeLength);
+
+        if (threads == 1) {
+            BucketMaps bucketMaps =
+                    sorter.acquireBucketMaps(
+                            DEEPEST_RECURSION_DEPTH + 1,
+                            BUCKETS);
+
+            radixSortImpl(
+                    keys,
+                    values,
+                    keyBuffer,
+                    valueBuffer,
+                    fromIndex,
+                    0,
+                    rangeLength,
+                    recursionDepth,
+                    false,
+                    bucketMaps,
+                    sorter);
+
+            sorter.releaseBucketMaps(bucketMaps);
+        } else {
+            parallelRadixSortImpl(
+                    keys,
+                    values,
+                    keyBuffer,
+                    valueBuffer,
+                    fromIndex,
+                    0,
+                    rangeLength,
+                    recursionDepth,
+                    false,
+                    threads,
+                    sorter);
+        }
+    }
+
+    /**
+     * Sorts the range {@code keys[fromIndex], ..., keys[toIndex - 1]} and
+     * applies the same permutation to
+     * {@code values[fromIndex], ..., values[toIndex - 1]}.
+     *
+     * @param keys      the array holding the keys to sort.
+     * @param values    the array holding the payloads of the keys.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param sorter    the sorter providing the resources.
+     */
+    static void sortImpl(int[] keys,
+                         long[] values,
+                         int fromIndex,
+                         int toIndex,
+                         RadixSorter sorter) {
+        ParallelRadixSort.rangeCheck(keys.length, fromIndex, toIndex);
+        ParallelRadixSort.rangeCheck(values.length, fromIndex, toIndex);
+
+        int rangeLength = toIndex - fromIndex;
+
+        if (rangeLength < 2) {
+            // Trivially sorted, return.
+            return;
+        }
+
+        Executor executor = sorter.getExecutor();
+        int[] indices = sorter.getIndices(rangeLength);
+        Runnable[] tasks = new Runnable[getThreads(rangeLength, sorter)];
+        int[] sortedKeys = 
+                sortWithIndices(keys, fromIndex, rangeLength, indices, sorter);
+
+        long[] sortedValues = sorter.getLongBuffer(rangeLength);
+
+        ExecutorTasks.splitRange(tasks, rangeLength, (from, to) -> () -> {
+            System.arraycopy(
+                    sortedKeys, from, keys, fromIndex + from, to - from);
+
+            for (int i = from; i != to; i++) {
+                sortedValues[i] = values[fromIndex + indices[i]];
+            }
+        });
+
+        ExecutorTasks.invokeAll(executor, tasks);
+
+        ExecutorTasks.parallelCopy(
+                sortedValues,
+                0,
+                values,
+                fromIndex,
+                rangeLength,
+                tasks.length,
+                executor);
+    }
+
+    /**
+     * Returns the indices that sort {@code array} stably.
+     *
+     * @param array  the array to sort by.
+     * @param sorter the sorter providing the resources.
+     * @return the array {@code indices} such that
+     *         {@code array[indices[0]], array[indices[1]], ...} is sorted.
+     */
+    static int[] argSortImpl(int[] array, RadixSorter sorter) {
+        int[] indices = new int[array.length];
+        sortWithIndices(array, 0, array.length, indices, sorter);
+        return indices;
+    }
+
+    /**
+     * Sorts a copy of the range 
+     * {@code keys[fromIndex], ..., keys[fromIndex + rangeLength - 1]} together
+     * with the indices {@code 0, ..., rangeLength - 1} relative to 
+     * {@code fromIndex}. The input keys are not modified.
+     *
+     * @param keys        the array holding the keys to sort.
+     * @param fromIndex   the starting index of the range to sort.
+     * @param rangeLength the length of the range to sort.
+     * @param indices     the array to store the sorted indices in.
+     * @param sorter      the sorter providing the resources.
+     * @return the sorted copy of the keys.
+     */
+    private static int[] sortWithIndices(int[] keys,
+                                         int fromIndex,
+                                         int rangeLength,
+                                         int[] indices,
+                                         RadixSorter sorter) {
+        int[] sortedKeys = sorter.getIntKeys(rangeLength);
+        Runnable[] tasks = new Runnable[getThreads(rangeLength, sorter)];
+
+        ExecutorTasks.splitRange(tasks, rangeLength, (from, to) -> () -> {
+            System.arraycopy(
+                    keys, fromIndex + from, sortedKeys, from, to - from);
+
+            for (int i = from; i != to; i++) {
+                indices[i] = i;
+            }
+        });
+
+        ExecutorTasks.invokeAll(sorter.getExecutor(), tasks);
+        sortImpl(sortedKeys, indices, 0, rangeLength, sorter);
+        return sortedKeys;
+    }
+
+    static int getThreads(int rangeLength, RadixSorter sorter) {
+        int threads =
+                Math.min(
+                        sorter.getParallelism(),
+                        rangeLength / sorter.getConfig()
+                                            .getMinimumThreadWorkload());
+
+        return Math.max(threads, 1);
+    }
+
+    private static void parallelRadixSortImpl(
+                int[] sourceKeys,
+                int[] sourceValues,
+                int[] targetKeys,
+                int[] targetValues,
+                int sourceFromIndex,
+                int targetFromIndex,
+                int rangeLength,
+                int recursionDepth,
+                boolean resultInTarget,
+                int threads,
+                RadixSorter sorter) {
+
+        int startIndex = sourceFromIndex;
+        int subrangeLength = rangeLength / threads;
+        Executor executor = sorter.getExecutor();
+        BucketMaps bucketMaps = sorter.acquireBucketMaps(threads, BUCKETS);
+
+        BucketSizeCounter[] bucketSizeCounters =
+                new BucketSizeCounter[threads];
+
+        for (int i = 0; i != bucketSizeCounters.length - 1; i++) {
+            bucketMaps.clearRow(i);
+            bucketSizeCounters[i] =
+                    new BucketSizeCounter(
+                            bucketMaps.bucketSizeMaps[i],
+                            sourceKeys,
+                            startIndex,
+                            startIndex += subrangeLength,
+                            recursionDepth);
+        }
+
+        bucketMaps.clearRow(threads - 1);
+        bucketSizeCounters[threads - 1] =
+                new BucketSizeCounter(
+                    bucketMaps.bucketSizeMaps[threads - 1],
+                    sourceKeys,
+                    startIndex,
+                    sourceFromIndex + rangeLength,
+                    recursionDepth);
+
+        ExecutorTasks.invokeAll(executor, bucketSizeCounters);
+
+        // Build the global bucket size map:
+        int[] globalBucketSizeMap = bucketMaps.globalBucketSizeMap;
+        Arrays.fill(globalBucketSizeMap, 0);
+
+        for (int i = 0; i != threads; i++) {
+            int[] localBucketSizeMap =
+                    bucketSizeCounters[i].getLocalBucketSizeMap();
+
+            for (int j = 0; j != BUCKETS; j++) {
+                globalBucketSizeMap[j] += localBucketSizeMap[j];
+            }
+        }
+
+        int numberOfNonemptyBuckets = 0;
+
+        for (int i = 0; i != BUCKETS; i++) {
+            if (globalBucketSizeMap[i] != 0) {
+                numberOfNonemptyBuckets++;
+            }
+        }
+
+        if (numberOfNonemptyBuckets == 1) {
+            // All the keys fall into the same bucket. Skip scattering and
+            // continue with the next byte:
+            sorter.releaseBucketMaps(bucketMaps);
+
+            if (recursionDepth == DEEPEST_RECURSION_DEPTH) {
+                // All the keys are equal.
+                if (resultInTarget) {
+                    copy(sourceKeys,
+                         sourceValues,
+                         sourceFromIndex,
+                         targetKeys,
+                         targetValues,
+                         targetFromIndex,
+                         rangeLength,
+                         threads,
+                         executor);
+                }
+            } else {
+                parallelRadixSortImpl(
+                        sourceKeys,
+                        sourceValues,
+                        targetKeys,
+                        targetValues,
+                        sourceFromIndex,
+                        targetFromIndex,
+                        rangeLength,
+                        recursionDepth + 1,
+                        resultInTarget,
+                        threads,
+                        sorter);
+            }
+
+            return;
+        }
+
+        int spawnDegree = Math.min(numberOfNonemptyBuckets, threads);
+        int[] startIndexMap = bucketMaps.startIndexMaps[0];
+        startIndexMap[0] = targetFromIndex;
+
+        for (int i = 1; i != BUCKETS; i++) {
+            startIndexMap[i] = startIndexMap[i - 1]
+                             + globalBucketSizeMap[i - 1];
+        }
+
+        // Row 0 is cleared by now, the other rows are overwritten:
+        int[][] processedMaps = bucketMaps.processedMaps;
+
+        // Make the preprocessing maps independent of each thread:
+        for (int i = 1; i != spawnDegree; i++) {
+            int[] partialBucketSizeMap =
+                    bucketSizeCounters[i - 1].getLocalBucketSizeMap();
+
+            for (int j = 0; j != BUCKETS; j++) {
+                processedMaps[i][j] = processedMaps[i - 1][j]
+                                    + partialBucketSizeMap[j];
+            }
+        }
+
+        int sourceStartIndex = sourceFromIndex;
+
+        KeyValueBucketInserter[] bucketInserters =
+                new KeyValueBucketInserter[spawnDegree];
+
+        for (int i = 0; i != spawnDegree - 1; i++) {
+            bucketInserters[i] =
+                    new KeyValueBucketInserter(
+                            sourceKeys,
+                            sourceValues,
+                            targetKeys,
+                            targetValues,
+                            sourceStartIndex,
+                            startIndexMap,
+                            processedMaps[i],
+                            subrangeLength,
+                            recursionDepth);
+
+            sourceStartIndex += subrangeLength;
+        }
+
+        bucketInserters[spawnDegree - 1] =
+                new KeyValueBucketInserter(
+                            sourceKeys,
+                            sourceValues,
+                            targetKeys,
+                            targetValues,
+                            sourceStartIndex,
+                            startIndexMap,
+                            processedMaps[spawnDegree - 1],
+                            rangeLength - (spawnDegree - 1) * subrangeLength,
+                            recursionDepth);
+
+        // Run all the bucket inserters, the rightmost in this thread:
+        ExecutorTasks.invokeAll(executor, bucketInserters);
+
+        if (recursionDepth == DEEPEST_RECURSION_DEPTH) {
+            // Nowhere to recur, all bytes are processed. Return.
+            sorter.releaseBucketMaps(bucketMaps);
+
+            if (!resultInTarget) {
+                copy(targetKeys,
+                     targetValues,
+                     targetFromIndex,
+                     sourceKeys,
+                     sourceValues,
+                     sourceFromIndex,
+                     rangeLength,
+                     threads,
+                     executor);
+            }
+
+            return;
+        }
+
+        if (executor instanceof ForkJoinPool) {
+            // A task per bucket, the idle workers steal the remaining ones:
+            KeyValueSorter[] sorters =
+                    new KeyValueSorter[numberOfNonemptyBuckets];
+            int sorterIndex = 0;
+
+            for (int bucketKey = 0; bucketKey != BUCKETS; bucketKey++) {
+                int bucketSize = globalBucketSizeMap[bucketKey];
+
+                if (bucketSize == 0) {
+                    continue;
+                }
+
+                int bucketThreads =
+                        Math.min(
+                                threads,
+                                bucketSize
+                                        / sorter.getConfig()
+                                                .getMinimumThreadWorkload());
+
+                KeyValueSorterTask sorterTask =
+                        new KeyValueSorterTask(
+                                targetKeys,
+                                targetValues,
+                                sourceKeys,
+                                sourceValues,
+                                startIndexMap[bucketKey],
+                                startIndexMap[bucketKey] -
+                                        targetFromIndex +
+                                        sourceFromIndex,
+                                bucketSize,
+                                recursionDepth + 1,
+                                !resultInTarget,
+                                Math.max(bucketThreads, 1));
+
+                sorters[sorterIndex++] =
+                        new KeyValueSorter(List.of(sorterTask), sorter);
+            }
+
+            sorter.releaseBucketMaps(bucketMaps);
+            ExecutorTasks.forkAll((ForkJoinPool) executor, sorters);
+            return;
+        }
+
+        // Assign the buckets to the sorters by their sizes:
+        List<BucketGroup> bucketGroups =
+                BucketScheduler.schedule(
+                        globalBucketSizeMap,
+                        numberOfNonemptyBuckets,
+                        rangeLength,
+                        threads,
+                        sorter.getConfig().getMinimumThreadWorkload());
+
+        KeyValueSorter[] sorters = new KeyValueSorter[bucketGroups.size()];
+
+        for (int i = 0; i != sorters.length; i++) {
+            BucketGroup bucketGroup = bucketGroups.get(i);
+            BucketKeyList bucketKeyList = bucketGroup.bucketKeys;
+            int size = bucketKeyList.size();
+            List<KeyValueSorterTask> taskArray = new ArrayList<>(size);
+
+            for (int idx = 0; idx != size; idx++) {
+                int bucketKey = bucketKeyList.getBucketKey(idx);
+
+                KeyValueSorterTask sorterTask =
+                        new KeyValueSorterTask(
+                                targetKeys,
+                                targetValues,
+                                sourceKeys,
+                                sourceValues,
+                                startIndexMap[bucketKey],
+                                startIndexMap[bucketKey] -
+                                        targetFromIndex +
+                                        sourceFromIndex,
+
+                                globalBucketSizeMap[bucketKey],
+                                recursionDepth + 1,
+                                !resultInTarget,
+                                bucketGroup.threads);
+
+                taskArray.add(sorterTask);
+            }
+
+            sorters[i] = new KeyValueSorter(taskArray, sorter);
+        }
+
+        // The bucket maps are no longer needed, let the deeper levels reuse
+        // them:
+        sorter.releaseBucketMaps(bucketMaps);
+
+        // Recur into deeper depth, the rightmost sorter runs in this thread:
+        ExecutorTasks.invokeAll(executor, sorters);
+    }
+
+    private static void radixSortImpl(int[] sourceKeys,
+                                      int[] sourceValues,
+                                      int[] targetKeys,
+                                      int[] targetValues,
+                                      int sourceFromIndex,
+                                      int targetFromIndex,
+                                      int rangeLength,
+                                      int recursionDepth,
+                                      boolean resultInTarget,
+                                      BucketMaps bucketMaps,
+                                      RadixSorter sorter) {
+
+        if (rangeLength <= sorter.getConfig().getInsertionSortThreshold()) {
+            insertionSort(
+                    sourceKeys,
+                    sourceValues,
+                    sourceFromIndex,
+                    rangeLength);
+
+            if (resultInTarget) {
+                System.arraycopy(
+                        sourceKeys,
+                        sourceFromIndex,
+                        targetKeys,
+                        targetFromIndex,
+                        rangeLength);
+
+                System.arraycopy(
+                        sourceValues,
+                        sourceFromIndex,
+                        targetValues,
+                        targetFromIndex,
+                        rangeLength);
+            }
+
+            return;
+        }
+
+        bucketMaps.clearRow(recursionDepth);
+
+        int[] bucketSizeMap = bucketMaps.bucketSizeMaps[recursionDepth];
+        int[] startIndexMap = bucketMaps.startIndexMaps[recursionDepth];
+        int[] processedMap  = bucketMaps.processedMaps [recursionDepth];
+
+        int sourceToIndex = sourceFromIndex + rangeLength;
+
+        // Find out the size of each bucket:
+        for (int i = sourceFromIndex; i != sourceToIndex; i++) {
+            bucketSizeMap[getBucketIndex(sourceKeys[i], recursionDepth)]++;
+        }
+
+        int firstBucketKey =
+                getBucketIndex(sourceKeys[sourceFromIndex], recursionDepth);
+
+        if (bucketSizeMap[firstBucketKey] == rangeLength) {
+            // All the keys fall into the same bucket. Skip scattering and
+            // continue with the next byte:
+            if (recursionDepth == DEEPEST_RECURSION_DEPTH) {
+                // All the keys are equal.
+                if (resultInTarget) {
+                    System.arraycopy(
+                            sourceKeys,
+                            sourceFromIndex,
+                            targetKeys,
+                            targetFromIndex,
+                            rangeLength);
+
+                    System.arraycopy(
+                            sourceValues,
+                            sourceFromIndex,
+                            targetValues,
+                            targetFromIndex,
+                            rangeLength);
+                }
+            } else {
+                radixSortImpl(
+                        sourceKeys,
+                        sourceValues,
+                        targetKeys,
+                        targetValues,
+                        sourceFromIndex,
+                        targetFromIndex,
+                        rangeLength,
+                        recursionDepth + 1,
+                        resultInTarget,
+                        bucketMaps,
+                        sorter);
+            }
+
+            return;
+        }
+
+        startIndexMap[0] = targetFromIndex;
+
+        for (int i = 1; i != BUCKETS; i++) {
+            startIndexMap[i] = startIndexMap[i - 1] + bucketSizeMap[i - 1];
+        }
+
+        // Insert each key and its payload to their bucket:
+        for (int i = sourceFromIndex; i != sourceToIndex; i++) {
+            int key = sourceKeys[i];
+            int bucketKey = getBucketIndex(key, recursionDepth);
+            int targetIndex = startIndexMap[bucketKey]
+                            + processedMap[bucketKey]++;
+
+            targetKeys[targetIndex] = key;
+            targetValues[targetIndex] = sourceValues[i];
+        }
+
+        if (recursionDepth == DEEPEST_RECURSION_DEPTH) {
+            if (!resultInTarget) {
+                System.arraycopy(
+                        targetKeys,
+                        targetFromIndex,
+                        sourceKeys,
+                        sourceFromIndex,
+                        rangeLength);
+
+                System.arraycopy(
+                        targetValues,
+                        targetFromIndex,
+                        sourceValues,
+                        sourceFromIndex,
+                        rangeLength);
+            }
+
+            return;
+        }
+
+        ForkJoinTask<?>[] forkedTasks = null;
+        int forkedTaskCount = 0;
+
+        if (ForkJoinTask.getPool() == sorter.getExecutor()) {
+            // Let the idle workers steal the large buckets:
+            for (int i = 0; i != BUCKETS; i++) {
+                if (bucketSizeMap[i] >= MINIMUM_FORKED_BUCKET_SIZE) {
+                    if (forkedTasks == null) {
+                        forkedTasks = new ForkJoinTask<?>[BUCKETS];
+                    }
+
+                    KeyValueSorterTask sorterTask =
+                            new KeyValueSorterTask(
+                                    targetKeys,
+                                    targetValues,
+                                    sourceKeys,
+                                    sourceValues,
+                                    startIndexMap[i],
+                                    startIndexMap[i] -
+                                            targetFromIndex +
+                                            sourceFromIndex,
+                                    bucketSizeMap[i],
+                                    recursionDepth + 1,
+                                    !resultInTarget,
+                                    1);
+
+                    forkedTasks[forkedTaskCount++] =
+                            ForkJoinTask.adapt(
+                                    new KeyValueSorter(
+                                            List.of(sorterTask),
+                                            sorter))
+                                        .fork();
+                }
+            }
+        }
+
+        try {
+            for (int i = 0; i != BUCKETS; i++) {
+                if (bucketSizeMap[i] != 0
+                        && (forkedTasks == null
+                        || bucketSizeMap[i] < MINIMUM_FORKED_BUCKET_SIZE)) {
+                    // Sort from 'target' to 'source':
+                    radixSortImpl(
+                            targetKeys,
+                            targetValues,
+                            sourceKeys,
+                            sourceValues,
+                            startIndexMap[i],
+                            startIndexMap[i] -
+                                    targetFromIndex +
+                                    sourceFromIndex,
+                            bucketSizeMap[i],
+                            recursionDepth + 1,
+                            !resultInTarget,
+                            bucketMaps,
+                            sorter);
+                }
+            }
+        } finally {
+            ExecutorTasks.joinAll(forkedTasks, forkedTaskCount);
+        }
+    }
+
+    /**
+     * Sorts stably the range
+     * {@code keys[offset], ..., keys[offset + rangeLength - 1]} moving the
+     * payloads along.
+     */
+    static void insertionSort(int[] keys,
+                              int[] values,
+                              int offset,
+                              int rangeLength) {
+        int endOffset = offset + rangeLength;
+
+        for (int i = offset + 1; i != endOffset; i++) {
+            int key = keys[i];
+            int value = values[i];
+            int j = i - 1;
+
+            while (j >= offset && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                --j;
+            }
+
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    private static void copy(int[] sourceKeys,
+                             int[] sourceValues,
+                             int sourceFromIndex,
+                             int[] targetKeys,
+                             int[] targetValues,
+                             int targetFromIndex,
+                             int rangeLength,
+                             int threads,
+                             Executor executor) {
+        ExecutorTasks.parallelCopy(
+                sourceKeys,
+                sourceFromIndex,
+                targetKeys,
+                targetFromIndex,
+                rangeLength,
+                threads,
+                executor);
+
+        ExecutorTasks.parallelCopy(
+                sourceValues,
+                sourceFromIndex,
+                targetValues,
+                targetFromIndex,
+                rangeLength,
+                threads,
+                executor);
+    }
+
+    private static final class KeyValueBucketInserter implements Runnable {
+
+        private final int[] sourceKeys;
+        private final int[] sourceValues;
+        private final int[] targetKeys;
+        private final int[] targetValues;
+        private final int sourceFromIndex;
+        private final int[] startIndexMap;
+        private final int[] processedMap;
+        private final int rangeLength;
+        private final int recursionDepth;
+
+        KeyValueBucketInserter(int[] sourceKeys,
+                               int[] sourceValues,
+                               int[] targetKeys,
+                               int[] targetValues,
+                               int sourceFromIndex,
+                               int[] startIndexMap,
+                               int[] processedMap,
+                               int rangeLength,
+                               int recursionDepth) {
+            this.sourceKeys = sourceKeys;
+            this.sourceValues = sourceValues;
+            this.targetKeys = targetKeys;
+            this.targetValues = targetValues;
+            this.sourceFromIndex = sourceFromIndex;
+            this.startIndexMap = startIndexMap;
+            this.processedMap = processedMap;
+            this.rangeLength = rangeLength;
+            this.recursionDepth = recursionDepth;
+        }
+
+        @Override
+        public void run() {
+            int sourceToIndex = sourceFromIndex + rangeLength;
+
+            for (int i = sourceFromIndex; i != sourceToIndex; i++) {
+                int key = sourceKeys[i];
+                int bucketKey = getBucketIndex(key, recursionDepth);
+                int targetIndex = startIndexMap[bucketKey]
+                                + processedMap[bucketKey]++;
+
+                targetKeys[targetIndex] = key;
+                targetValues[targetIndex] = sourceValues[i];
+            }
+        }
+    }
+
+    private static final class KeyValueSorter implements Runnable {
+
+        private final List<KeyValueSorterTask> sorterTasks;
+        private final RadixSorter sorter;
+
+        KeyValueSorter(List<KeyValueSorterTask> sorterTasks,
+                       RadixSorter sorter) {
+            this.sorterTasks = sorterTasks;
+            this.sorter = sorter;
+        }
+
+        @Override
+        public void run() {
+            BucketMaps bucketMaps = null;
+
+            for (KeyValueSorterTask sorterTask : sorterTasks) {
+                if (sorterTask.threads > 1) {
+                    parallelRadixSortImpl(sorterTask.sourceKeys,
+                                          sorterTask.sourceValues,
+                                          sorterTask.targetKeys,
+                                          sorterTask.targetValues,
+                                          sorterTask.sourceStartOffset,
+                                          sorterTask.targetStartOffset,
+                                          sorterTask.rangeLength,
+                                          sorterTask.recursionDepth,
+                                          sorterTask.resultInTarget,
+                                          sorterTask.threads,
+                                          sorter);
+                } else {
+                    if (bucketMaps == null) {
+                        bucketMaps =
+                                sorter.acquireBucketMaps(
+                                        DEEPEST_RECURSION_DEPTH + 1,
+                                        BUCKETS);
+                    }
+
+                    radixSortImpl(sorterTask.sourceKeys,
+                                  sorterTask.sourceValues,
+                                  sorterTask.targetKeys,
+                                  sorterTask.targetValues,
+                                  sorterTask.sourceStartOffset,
+                                  sorterTask.targetStartOffset,
+                                  sorterTask.rangeLength,
+                                  sorterTask.recursionDepth,
+                                  sorterTask.resultInTarget,
+                                  bucketMaps,
+                                  sorter);
+                }
+            }
+
+            if (bucketMaps != null) {
+                sorter.releaseBucketMaps(bucketMaps);
+            }
+        }
+    }
+
+    private static final class KeyValueSorterTask {
+
+        final int[] sourceKeys;
+        final int[] sourceValues;
+        final int[] targetKeys;
+        final int[] targetValues;
+        final int sourceStartOffset;
+        final int targetStartOffset;
+        final int rangeLength;
+        final int recursionDepth;
+        final boolean resultInTarget;
+        final int threads;
+
+        KeyValueSorterTask(int[] sourceKeys,
+                           int[] sourceValues,
+                           int[] targetKeys,
+                           int[] targetValues,
+                           int sourceStartOffset,
+                           int targetStartOffset,
+                           int rangeLength,
+                           int recursionDepth,
+                           boolean resultInTarget,
+                           int threads) {
+
+            this.sourceKeys = sourceKeys;
+            this.sourceValues = sourceValues;
+            this.targetKeys = targetKeys;
+            this.targetValues = targetValues;
+            this.sourceStartOffset = sourceStartOffset;
+            this.targetStartOffset = targetStartOffset;
+            this.rangeLength = rangeLength;
+            this.recursionDepth = recursionDepth;
+            this.resultInTarget = resultInTarget;
+            this.threads = threads;
+        }
+    }
+}
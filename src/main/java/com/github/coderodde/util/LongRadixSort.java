@@ -0,0 +1,1066 @@
+package com.github.coderodde.util;
+
+import static com.github.coderodde.util.ParallelRadixSort.BUCKETS;
+import static com.github.coderodde.util.ParallelRadixSort.MINIMUM_FORKED_BUCKET_SIZE;
+import com.github.coderodde.util.BucketScheduler.BucketGroup;
+import com.github.coderodde.util.ParallelRadixSort.BucketKeyList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * This class implements the parallel MSD radix sort for {@code long} arrays.
+ * The algorithm is the same as in {@link ParallelRadixSort}, only the keys 
+ * have eight bytes so that the recursion may descend eight levels. The sign 
+ * bit is honoured so that the result is the same as in 
+ * {@link java.util.Arrays#parallelSort(long[])}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class LongRadixSort {
+    
+    /**
+     * The index of the least significant byte.
+     */
+    static final int DEEPEST_RECURSION_DEPTH = 7;
+    
+    /**
+     * The mask for extracting the sign bit.
+     */
+    private static final long SIGN_BIT_MASK = 0x8000_0000_0000_0000L;
+    
+    /**
+     * The number of bits per byte.
+     */
+    private static final int BITS_PER_BYTE = Byte.SIZE;
+    
+    /**
+     * The mask for extracting a byte.
+     */
+    private static final long EXTRACT_BYTE_MASK = 0xffL;
+    
+    private LongRadixSort() {
+        
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]} using
+     * the executor, the buffer and the bucket maps of {@code sorter}.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param sorter    the sorter providing the resources.
+     */
+    static void sortImpl(long[] array, 
+                         int fromIndex, 
+                         int toIndex, 
+                         RadixSorter sorter) {
+        ParallelRadixSort.rangeCheck(array.length, fromIndex, toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < 2) {
+            // Trivially sorted, return.
+            return;
+        }
+        
+        SortConfig config = sorter.getConfig();
+        
+        if (rangeLength <= config.getInsertionSortThreshold()) {
+            insertionSort(array, fromIndex, rangeLength);
+            return;
+        }
+        
+        long[] buffer = sorter.getLongBuffer(rangeLength);
+        
+        if (rangeLength <= config.getMergesortThreshold()) {
+            mergesort(
+                    array, 
+                    buffer, 
+                    fromIndex,
+                    0, 
+                    rangeLength, 
+                    false,
+                    config.getInsertionSortThreshold());
+            
+            return;
+        }
+        
+        int threads = 
+                Math.min(
+                        sorter.getParallelism(), 
+                        rangeLength / config.getMinimumThreadWorkload());
+        
+        threads = Math.max(threads, 1);
+        
+        CoreBudget.run(
+                threads, 
+                sorter, 
+                grantedThreads -> 
+                        sortRange(
+                                array,
+                                buffer,
+                                fromIndex,
+                                rangeLength,
+                                grantedThreads,
+                                sorter));
+    }
+    
+    /**
+     * Sorts the range of length {@code rangeLength} starting at 
+     * {@code fromIndex} using {@code threads} threads.
+     * 
+     * @param array       the array holding the range to sort.
+     * @param buffer      the buffer of at least {@code rangeLength} elements.
+     * @param fromIndex   the starting index of the range to sort.
+     * @param rangeLength the length of the range to sort.
+     * @param threads     the number of threads to use.
+     * @param sorter      the sorter providing the resources.
+     */
+    private static void sortRange(long[] array,
+                                  long[] buffer,
+                                  int fromIndex,
+                                  int rangeLength,
+                                  int threads,
+                                  RadixSorter sorter) {
+        long differingBits = 
+                getDifferingBits(
+                        array, 
+                        fromIndex, 
+                        rangeLength, 
+                        threads, 
+                        sorter.getExecutor());
+        
+        if (differingBits == 0L) {
+            // All the elements are equal, nothing to sort:
+            return;
+        }
+        
+        // Skip the leading bytes that are the same in all the elements:
+        int recursionDepth = 
+                Long.numberOfLeadingZeros(differingBits) / BITS_PER_BYTE;
+        
+        if (threads == 1) {
+            BucketMaps bucketMaps = 
+                    sorter.acquireBucketMaps(
+                            DEEPEST_RECURSION_DEPTH + 1, 
+                            BUCKETS);
+            
+            radixSortImpl(
+                    array, 
+                    buffer,
+                    fromIndex, 
+                    0,
+                    rangeLength, 
+                    recursionDepth,
+                    false,
+                    bucketMaps,
+                    sorter);
+            
+            sorter.releaseBucketMaps(bucketMaps);
+        } else {
+            parallelRadixSortImpl(
+                    array, 
+                    buffer, 
+                    fromIndex, 
+                    0, 
+                    rangeLength,
+                    recursionDepth,
+                    false,
+                    threads,
+                    sorter);
+        }
+    }
+    
+    /**
+     * Returns the bitwise OR of {@code array[fromIndex] ^ array[i]} over all 
+     * {@code i} in the range.
+     * 
+     * @param array       the array holding the range.
+     * @param fromIndex   the starting index of the range.
+     * @param rangeLength the length of the range.
+     * @param threads     the number of threads to use.
+     * @param executor    the executor to run the threads on.
+     * @return the bits that differ within the range.
+     */
+    static long getDifferingBits(long[] array, 
+                                 int fromIndex,
+                                 int rangeLength,
+                                 int threads,
+                                 Executor executor) {
+        
+        long firstElement = array[fromIndex];
+        Runnable[] tasks = new Runnable[threads];
+        
+        ExecutorTasks.splitRange(
+                tasks, 
+                rangeLength, 
+                (from, to) -> new LongDifferingBitsFinder(
+                        array,
+                        fromIndex + from,
+                        fromIndex + to,
+                        firstElement));
+        
+        ExecutorTasks.invokeAll(executor, tasks);
+        
+        long differingBits = 0L;
+        
+        for (Runnable task : tasks) {
+            differingBits |= ((LongDifferingBitsFinder) task).differingBits;
+        }
+        
+        return differingBits;
+    }
+    
+    private static void parallelRadixSortImpl(
+                long[] source, 
+                long[] target,
+                int sourceFromIndex,
+                int targetFromIndex,
+                int rangeLength,
+                int recursionDepth,
+                boolean resultInTarget,
+                int threads,
+                RadixSorter sorter) {
+        
+        int startIndex = sourceFromIndex;
+        int subrangeLength = rangeLength / threads;
+        Executor executor = sorter.getExecutor();
+        BucketMaps bucketMaps = sorter.acquireBucketMaps(threads, BUCKETS);
+        
+        LongBucketSizeCounter[] bucketSizeCounters = 
+                new LongBucketSizeCounter[threads];
+        
+        for (int i = 0; i != bucketSizeCounters.length - 1; i++) {
+            bucketMaps.clearRow(i);
+            bucketSizeCounters[i] = 
+                    new LongBucketSizeCounter(
+                            bucketMaps.bucketSizeMaps[i],
+                            source,
+                            startIndex,
+                            startIndex += subrangeLength, 
+                            recursionDepth);
+        }
+        
+        bucketMaps.clearRow(threads - 1);
+        bucketSizeCounters[threads - 1] =
+                new LongBucketSizeCounter(
+                    bucketMaps.bucketSizeMaps[threads - 1],
+                    source, 
+                    startIndex, 
+                    sourceFromIndex + rangeLength, 
+                    recursionDepth);
+        
+        // Run all the bucket size counters. The rightmost one will be run in 
+        // this thread as a mild optimization:
+        ExecutorTasks.invokeAll(executor, bucketSizeCounters);
+        
+        // Build the global bucket size map:
+        int[] globalBucketSizeMap = bucketMaps.globalBucketSizeMap;
+        Arrays.fill(globalBucketSizeMap, 0);
+        
+        for (int i = 0; i != threads; i++) {
+            int[] localBucketSizeMap = 
+                    bucketSizeCounters[i].getLocalBucketSizeMap();
+            
+            for (int j = 0; j != BUCKETS; j++) {
+                globalBucketSizeMap[j] += localBucketSizeMap[j];
+            }
+        }
+        
+        int numberOfNonemptyBuckets = 0;
+        
+        for (int i = 0; i != BUCKETS; i++) {
+            if (globalBucketSizeMap[i] != 0) {
+                numberOfNonemptyBuckets++;
+            }
+        }
+        
+        if (numberOfNonemptyBuckets == 1) {
+            // All the elements fall into the same bucket. Skip scattering and
+            // continue with the next byte:
+            sorter.releaseBucketMaps(bucketMaps);
+            
+            if (recursionDepth == DEEPEST_RECURSION_DEPTH) {
+                // All the elements are equal.
+                if (resultInTarget) {
+                    ExecutorTasks.parallelCopy(
+                            source, 
+                            sourceFromIndex, 
+                            target,
+                            targetFromIndex,
+                            rangeLength,
+                            threads,
+                            executor);
+                }
+            } else {
+                parallelRadixSortImpl(
+                        source,
+                        target, 
+                        sourceFromIndex,
+                        targetFromIndex,
+                        rangeLength, 
+                        recursionDepth + 1,
+                        resultInTarget,
+                        threads,
+                        sorter);
+            }
+            
+            return;
+        }
+        
+        int spawnDegree = Math.min(numberOfNonemptyBuckets, threads);
+        int[] startIndexMap = bucketMaps.startIndexMaps[0];
+        startIndexMap[0] = targetFromIndex;
+        
+        for (int i = 1; i != BUCKETS; i++) {
+            startIndexMap[i] = startIndexMap[i - 1] 
+                             + globalBucketSizeMap[i - 1];
+        }
+        
+        // Row 0 is cleared by now, the other rows are overwritten:
+        int[][] processedMaps = bucketMaps.processedMaps;
+        
+        // Make the preprocessing maps independent of each thread:
+        for (int i = 1; i != spawnDegree; i++) {
+            int[] partialBucketSizeMap =
+                    bucketSizeCounters[i - 1].getLocalBucketSizeMap();
+            
+            for (int j = 0; j != BUCKETS; j++) {
+                processedMaps[i][j] = processedMaps[i - 1][j]
+                                    + partialBucketSizeMap[j];
+            }
+        }
+        
+        int sourceStartIndex = sourceFromIndex;
+        
+        LongBucketInserter[] bucketInserters = 
+                new LongBucketInserter[spawnDegree];
+        
+        for (int i = 0; i != spawnDegree - 1; i++) {
+            bucketInserters[i] = 
+                    new LongBucketInserter(
+                            source,
+                            target,
+                            sourceStartIndex,
+                            startIndexMap,
+                            processedMaps[i],
+                            subrangeLength,
+                            recursionDepth);
+            
+            sourceStartIndex += subrangeLength;
+        }
+        
+        bucketInserters[spawnDegree - 1] =
+                new LongBucketInserter(
+                            source,
+                            target,
+                            sourceStartIndex,
+                            startIndexMap,
+                            processedMaps[spawnDegree - 1],
+                            rangeLength - (spawnDegree - 1) * subrangeLength,
+                            recursionDepth);
+        
+        // Run all the bucket inserters, the rightmost in this thread:
+        ExecutorTasks.invokeAll(executor, bucketInserters);
+        
+        if (recursionDepth == DEEPEST_RECURSION_DEPTH) {
+            // Nowhere to recur, all bytes are processed. Return.
+            sorter.releaseBucketMaps(bucketMaps);
+            
+            if (!resultInTarget) {
+                ExecutorTasks.parallelCopy(
+                        target, 
+                        targetFromIndex, 
+                        source,
+                        sourceFromIndex,
+                        rangeLength,
+                        threads,
+                        executor);
+            }
+            
+            return;
+        }
+        
+        if (executor instanceof ForkJoinPool) {
+            // A task per bucket, the idle workers steal the remaining ones:
+            LongSorter[] sorters = new LongSorter[numberOfNonemptyBuckets];
+            int sorterIndex = 0;
+            
+            for (int bucketKey = 0; bucketKey != BUCKETS; bucketKey++) {
+                int bucketSize = globalBucketSizeMap[bucketKey];
+                
+                if (bucketSize == 0) {
+                    continue;
+                }
+                
+                int bucketThreads = 
+                        Math.min(
+                                threads, 
+                                bucketSize 
+                                        / sorter.getConfig()
+                                                .getMinimumThreadWorkload());
+                
+                LongSorterTask sorterTask =
+                        new LongSorterTask(
+                                target,
+                                source,
+                                startIndexMap[bucketKey],
+                                startIndexMap[bucketKey] - 
+                                        targetFromIndex + 
+                                        sourceFromIndex,
+                                bucketSize,
+                                recursionDepth + 1,
+                                !resultInTarget,
+                                Math.max(bucketThreads, 1));
+                
+                sorters[sorterIndex++] = 
+                        new LongSorter(List.of(sorterTask), sorter);
+            }
+            
+            sorter.releaseBucketMaps(bucketMaps);
+            ExecutorTasks.forkAll((ForkJoinPool) executor, sorters);
+            return;
+        }
+        
+        // Assign the buckets to the sorters by their sizes:
+        List<BucketGroup> bucketGroups =
+                BucketScheduler.schedule(
+                        globalBucketSizeMap,
+                        numberOfNonemptyBuckets,
+                        rangeLength,
+                        threads,
+                        sorter.getConfig().getMinimumThreadWorkload());
+        
+        LongSorter[] sorters = new LongSorter[bucketGroups.size()];
+        
+        for (int i = 0; i != sorters.length; i++) {
+            BucketGroup bucketGroup = bucketGroups.get(i);
+            BucketKeyList bucketKeyList = bucketGroup.bucketKeys;
+            int size = bucketKeyList.size();
+            List<LongSorterTask> taskArray = new ArrayList<>(size);
+            
+            for (int idx = 0; idx != size; idx++) {
+                int bucketKey = bucketKeyList.getBucketKey(idx);
+                
+                LongSorterTask sorterTask =
+                        new LongSorterTask(
+                                target,
+                                source,
+                                startIndexMap[bucketKey],
+                                startIndexMap[bucketKey] - 
+                                        targetFromIndex + 
+                                        sourceFromIndex,
+                                
+                                globalBucketSizeMap[bucketKey],
+                                recursionDepth + 1,
+                                !resultInTarget,
+                                bucketGroup.threads);
+                
+                taskArray.add(sorterTask);
+            }
+            
+            sorters[i] = new LongSorter(taskArray, sorter);
+        }
+        
+        // The bucket maps are no longer needed, let the deeper levels reuse
+        // them:
+        sorter.releaseBucketMaps(bucketMaps);
+        
+        // Recur into deeper depth, the rightmost sorter runs in this thread:
+        ExecutorTasks.invokeAll(executor, sorters);
+    }
+    
+    /**
+     * Sorts the range 
+     * {@code <source[sourceFromIndex], ..., source[sourceFromIndex + rangeLength - 1>}
+     * and stores the result in 
+     * {@code <target[targetFromIndex], ..., target[targetFromIndex + rangeLength -l>}
+     * if {@code resultInTarget} is set, and back in {@code source} otherwise.
+     * 
+     * @param source          the source array.
+     * @param target          the target array.
+     * @param sourceFromIndex the starting index of the range to sort in 
+     *                        {@code source}.
+     * @param targetFromIndex the starting index of the range to put the result
+     *                        in.
+     * @param rangeLength     the length of the range to sort.
+     * @param recursionDepth  the recursion depth.
+     * @param resultInTarget  whether the sorted range must end up in 
+     *                        {@code target}.
+     * @param bucketMaps      the bucket maps, one row per recursion depth.
+     * @param sorter          the sorter providing the configuration. If this
+     *                        thread is a worker of its {@link ForkJoinPool},
+     *                        the idle workers may steal the large buckets.
+     */
+    private static void radixSortImpl(long[] source,
+                                      long[] target,
+                                      int sourceFromIndex,
+                                      int targetFromIndex,
+                                      int rangeLength,
+                                      int recursionDepth,
+                                      boolean resultInTarget,
+                                      BucketMaps bucketMaps,
+                                      RadixSorter sorter) {
+        
+        SortConfig config = sorter.getConfig();
+        
+        if (rangeLength <= config.getMergesortThreshold()) {
+            // A leaf range. The result goes to 'target' if 'resultInTarget',
+            // and stays in 'source' otherwise:
+            if (rangeLength < 2) {
+                if (resultInTarget && rangeLength == 1) {
+                    target[targetFromIndex] = source[sourceFromIndex];
+                }
+            } else {
+                mergesort(
+                        source,
+                        target,
+                        sourceFromIndex,
+                        targetFromIndex,
+                        rangeLength,
+                        resultInTarget,
+                        config.getInsertionSortThreshold());
+            }
+            
+            return;
+        }
+        
+        bucketMaps.clearRow(recursionDepth);
+        
+        int[] bucketSizeMap = bucketMaps.bucketSizeMaps[recursionDepth];
+        int[] startIndexMap = bucketMaps.startIndexMaps[recursionDepth];
+        int[] processedMap  = bucketMaps.processedMaps [recursionDepth];
+        
+        int sourceToIndex = sourceFromIndex + rangeLength;
+        long firstElement = source[sourceFromIndex];
+        long differingBits = 0L;
+        
+        // Find out the size of each bucket:
+        for (int i = sourceFromIndex; 
+                i != sourceToIndex; 
+                i++) {
+            long datum = source[i];
+            int bucketIndex = getBucketIndex(datum, recursionDepth);
+            bucketSizeMap[bucketIndex]++;
+            differingBits |= datum ^ firstElement;
+        }
+        
+        int firstBucketKey = getBucketIndex(firstElement, recursionDepth);
+        
+        if (bucketSizeMap[firstBucketKey] == rangeLength) {
+            // All the elements fall into the same bucket. Skip scattering and
+            // continue with the next byte that differs:
+            if (differingBits == 0L) {
+                // All the elements are equal.
+                if (resultInTarget) {
+                    System.arraycopy(
+                            source,
+                            sourceFromIndex, 
+                            target, 
+                            targetFromIndex, 
+                            rangeLength);
+                }
+            } else {
+                radixSortImpl(
+                        source, 
+                        target, 
+                        sourceFromIndex, 
+                        targetFromIndex, 
+                        rangeLength, 
+                        Long.numberOfLeadingZeros(differingBits) 
+                                / BITS_PER_BYTE, 
+                        resultInTarget, 
+                        bucketMaps,
+                        sorter);
+            }
+            
+            return;
+        }
+        
+        startIndexMap[0] = targetFromIndex;
+        
+        // Compute starting indices for buckets in the target array. This is 
+        // actually just an accumulated array of bucketSizeMap, such that
+        // startIndexMap[0] = 0, startIndexMap[1] = bucketSizeMap[0], ...,
+        // startIndexMap[BUCKETS - 1] = bucketSizeMap[0] + bucketSizeMap[1] +
+        // ... + bucketSizeMap[BUCKETS - 2].
+        for (int i = 1; i != BUCKETS; i++) {
+            startIndexMap[i] = startIndexMap[i - 1] + bucketSizeMap[i - 1];
+        }
+        
+        // Insert each element to its own bucket:
+        for (int i = sourceFromIndex; i != sourceToIndex; i++) {
+            long datum = source[i];
+            int bucketKey = getBucketIndex(datum, recursionDepth);
+            
+            target[startIndexMap[bucketKey] + 
+                    processedMap[bucketKey]++] = datum;
+        }
+        
+        if (recursionDepth == DEEPEST_RECURSION_DEPTH) {
+            if (!resultInTarget) {
+                System.arraycopy(
+                        target, 
+                        targetFromIndex, 
+                        source, 
+                        sourceFromIndex,
+                        rangeLength);
+            }
+            
+            return;
+        }
+        
+        ForkJoinTask<?>[] forkedTasks = null;
+        int forkedTaskCount = 0;
+        boolean forking = ForkJoinTask.getPool() == sorter.getExecutor();
+        
+        // The buckets larger than this are forked. The leaf buckets, sorted
+        // with the mergesort in the loop below, are never forked:
+        int maximumUnforkedBucketSize = 
+                Math.max(config.getMergesortThreshold(), 
+                         MINIMUM_FORKED_BUCKET_SIZE - 1);
+        
+        if (forking) {
+            // Let the idle workers steal the large buckets:
+            for (int i = 0; i != BUCKETS; i++) {
+                if (bucketSizeMap[i] > maximumUnforkedBucketSize) {
+                    if (forkedTasks == null) {
+                        forkedTasks = new ForkJoinTask<?>[BUCKETS];
+                    }
+                    
+                    LongSorterTask sorterTask = 
+                            new LongSorterTask(
+                                    target,
+                                    source,
+                                    startIndexMap[i],
+                                    startIndexMap[i] - 
+                                            targetFromIndex + 
+                                            sourceFromIndex,
+                                    bucketSizeMap[i],
+                                    recursionDepth + 1,
+                                    !resultInTarget,
+                                    1);
+                    
+                    forkedTasks[forkedTaskCount++] = 
+                            ForkJoinTask.adapt(
+                                    new LongSorter(
+                                            List.of(sorterTask), 
+                                            sorter))
+                                        .fork();
+                }
+            }
+        }
+        
+        try {
+            for (int i = 0; i != BUCKETS; i++) {
+                if (bucketSizeMap[i] == 0 
+                        || (forking 
+                                && bucketSizeMap[i] 
+                                        > maximumUnforkedBucketSize)) {
+                    // Empty, or sorted by a forked task.
+                    continue;
+                }
+                
+                // Sort from 'target' to 'source'. The leaf buckets are 
+                // mergesorted:
+                radixSortImpl(
+                        target,
+                        source,
+                        startIndexMap[i],
+                        startIndexMap[i] - 
+                                targetFromIndex + 
+                                sourceFromIndex,
+                        bucketSizeMap[i],
+                        recursionDepth + 1,
+                        !resultInTarget,
+                        bucketMaps,
+                        sorter);
+            }
+        } finally {
+            ExecutorTasks.joinAll(forkedTasks, forkedTaskCount);
+        }
+    }
+    
+    /**
+     * Sorts the range 
+     * {@code source[sourceFromIndex], ..., 
+     * source[sourceFromIndex + rangeLength - 1]} with the bottom-up mergesort,
+     * using the range of the same length in {@code target} as the buffer.
+     * 
+     * @param source          the array holding the range to sort.
+     * @param target          the buffer array.
+     * @param sourceFromIndex the starting index of the range to sort.
+     * @param targetFromIndex the starting index of the buffer range.
+     * @param rangeLength     the length of the range to sort.
+     * @param resultInTarget  whether the sorted range should end up in 
+     *                        {@code target} instead of {@code source}.
+     * @param runLength       the length of the initial, insertion-sorted runs.
+     */
+    private static void mergesort(long[] source,
+                                  long[] target,
+                                  int sourceFromIndex,
+                                  int targetFromIndex,
+                                  int rangeLength,
+                                  boolean resultInTarget,
+                                  int runLength) {
+        
+        int offset = sourceFromIndex;
+        long[] s = source;
+        long[] t = target;
+        int sFromIndex = sourceFromIndex;
+        int tFromIndex = targetFromIndex;
+        int runs = rangeLength / runLength;
+        
+        for (int i = 0; i != runs; ++i) {
+            insertionSort(source,
+                    offset, 
+                    runLength);
+            
+            offset += runLength;
+       }
+        
+        if (rangeLength % runLength != 0) {
+            // Sort the rightmost run that is smaller than 'runLength' 
+            // elements.
+            insertionSort(
+                    source, 
+                    offset, 
+                    sourceFromIndex + rangeLength - offset);
+            
+            runs++;
+        }
+        
+        int runWidth = runLength;
+        int passes = 0;
+        
+        while (runs != 1) {
+            passes++;
+            int runIndex = 0;
+            
+            for (; runIndex < runs - 1; runIndex += 2) {
+                int leftIndex = sFromIndex + runIndex * runWidth;
+                int leftIndexBound = leftIndex + runWidth;
+                int rightIndexBound =
+                        Math.min(leftIndexBound + runWidth,
+                                 sFromIndex + rangeLength);
+                
+                int targetIndex = tFromIndex + runIndex * runWidth;
+                
+                merge(
+                        s,
+                        t,
+                        leftIndex,
+                        leftIndexBound, 
+                        rightIndexBound,
+                        targetIndex);
+            }
+
+            if (runIndex != runs) { 
+                // Move a lonely, leftover run to the target array:
+                System.arraycopy( 
+                        s,
+                        sFromIndex + runIndex * runWidth,
+                        t,
+                        tFromIndex + runIndex * runWidth,
+                        rangeLength - runIndex * runWidth);
+            }
+
+            runs = (runs / 2) + (runs % 2 == 0 ? 0 : 1);
+            
+            // Alternate the array roles:
+            long[] temp = s;
+            s = t;
+            t = temp;
+            
+            int tempFromIndex = sFromIndex;
+            sFromIndex = tFromIndex;
+            tFromIndex = tempFromIndex;
+            
+            // Extend the run width:
+            runWidth *= 2;
+        }
+        
+        boolean even = (passes % 2 == 0);
+        
+        // The sorted range is now in 's', which is 'source' after an even 
+        // number of passes. Move it to the requested array:
+        if (resultInTarget) {
+            if (even) {
+                System.arraycopy(
+                        s, 
+                        sFromIndex, 
+                        t, 
+                        tFromIndex,
+                        rangeLength);
+            }
+        } else if (!even) {
+            System.arraycopy(
+                    s, 
+                    sFromIndex,
+                    t, 
+                    tFromIndex,
+                    rangeLength);
+        } 
+    }
+    
+    static void insertionSort(
+            long[] array, 
+            int offset, 
+            int rangeLength) {
+        int endOffset = offset + rangeLength;
+        
+        for (int i = offset + 1; i != endOffset; i++) {
+            long datum = array[i];
+            int j = i - 1;
+            
+            while (j >= offset && array[j] > datum) {
+                array[j + 1] = array[j];
+                --j;
+            }
+            
+            array[j + 1] = datum;
+        }
+    }
+    
+    /**
+     * Merges the runs 
+     * {@code source[leftIndex], ..., source[leftIndexBound - 1]} and
+     * {@code source[leftBoundIndex, ..., source[rightIndexBound - 1]} into one
+     * sorted run.
+     * 
+     * @param source          the source array.
+     * @param target          the target array.
+     * @param leftIndex       the lowest index of the left run to merge.
+     * @param leftIndexBound  the lowest index of the right run to merge.
+     * @param rightIndexBound the one past last index of the right run to merge.
+     * @param targetIndex     the starting index of the resulting, merged run.
+     */
+    private static void merge(long[] source,
+                              long[] target,
+                              int leftIndex,
+                              int leftIndexBound,
+                              int rightIndexBound,
+                              int targetIndex) {
+        int rightIndex = leftIndexBound;
+        
+        while (leftIndex != leftIndexBound && rightIndex != rightIndexBound) {
+            target[targetIndex++] = 
+                    source[leftIndex] < source[rightIndex] ?
+                    source[leftIndex++] :
+                    source[rightIndex++];
+        }
+        
+        System.arraycopy(
+                source,
+                leftIndex,
+                target,
+                targetIndex,
+                leftIndexBound - leftIndex);
+        
+        System.arraycopy(
+                source, 
+                rightIndex, 
+                target, 
+                targetIndex, 
+                rightIndexBound - rightIndex);
+    }
+    
+    static int getBucketIndex(long element, int recursionDepth) {
+        return (int)(((recursionDepth == 0 ? element ^ SIGN_BIT_MASK : element)
+            >>> ((DEEPEST_RECURSION_DEPTH - recursionDepth) 
+                  * BITS_PER_BYTE)) 
+                  & EXTRACT_BYTE_MASK);
+    }
+    
+    private static final class LongBucketSizeCounter implements Runnable {
+        
+        private final int[] localBucketSizeMap;
+        private final long[] array;
+        private final int fromIndex;
+        private final int toIndex;
+        private final int recursionDepth;
+        
+        LongBucketSizeCounter(int[] localBucketSizeMap,
+                              long[] array,
+                              int fromIndex,
+                              int toIndex,
+                              int recursionDepth) {
+            
+            this.localBucketSizeMap = localBucketSizeMap;
+            this.array          = array;
+            this.fromIndex      = fromIndex;
+            this.toIndex        = toIndex;
+            this.recursionDepth = recursionDepth;
+        }
+        
+        @Override
+        public void run() {
+            for (int i = fromIndex; i != toIndex; i++) {
+                localBucketSizeMap[getBucketIndex(array[i], recursionDepth)]++;
+            }
+        }
+        
+        int[] getLocalBucketSizeMap() {
+            return localBucketSizeMap;
+        }
+    }
+    
+    private static final class LongDifferingBitsFinder implements Runnable {
+        
+        private final long[] array;
+        private final int fromIndex;
+        private final int toIndex;
+        private final long firstElement;
+        long differingBits;
+        
+        LongDifferingBitsFinder(long[] array,
+                                int fromIndex,
+                                int toIndex,
+                                long firstElement) {
+            this.array = array;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.firstElement = firstElement;
+        }
+        
+        @Override
+        public void run() {
+            long bits = 0L;
+            
+            for (int i = fromIndex; i != toIndex; i++) {
+                bits |= array[i] ^ firstElement;
+            }
+            
+            differingBits = bits;
+        }
+    }
+    
+    private static final class LongBucketInserter implements Runnable {
+        
+        private final long[] source;
+        private final long[] target;
+        private final int sourceFromIndex;
+        private final int[] startIndexMap;
+        private final int[] processedMap;
+        private final int rangeLength;
+        private final int recursionDepth;
+        
+        LongBucketInserter(long[] source,
+                           long[] target,
+                           int sourceFromIndex,
+                           int[] startIndexMap,
+                           int[] processedMap,
+                           int rangeLength,
+                           int recursionDepth) {
+            this.source = source;
+            this.target = target;
+            this.sourceFromIndex = sourceFromIndex;
+            this.startIndexMap = startIndexMap;
+            this.processedMap = processedMap;
+            this.rangeLength = rangeLength;
+            this.recursionDepth = recursionDepth;
+        }
+        
+        @Override
+        public void run() {
+            int sourceToIndex = sourceFromIndex + rangeLength;
+            
+            for (int i = sourceFromIndex; i != sourceToIndex; i++) {
+                long datum = source[i];
+                int bucketKey = getBucketIndex(datum, recursionDepth);
+                
+                target[startIndexMap[bucketKey] + 
+                        processedMap[bucketKey]++] = datum;
+            }
+        }
+    }
+    
+    private static final class LongSorter implements Runnable {
+       
+        private final List<LongSorterTask> sorterTasks;
+        private final RadixSorter sorter;
+        
+        LongSorter(List<LongSorterTask> sorterTasks, RadixSorter sorter) {
+            this.sorterTasks = sorterTasks;
+            this.sorter = sorter;
+        }
+        
+        @Override
+        public void run() {
+            BucketMaps bucketMaps = null;
+            
+            for (LongSorterTask sorterTask : sorterTasks) {
+                if (sorterTask.threads > 1) {
+                    parallelRadixSortImpl(sorterTask.source,
+                                          sorterTask.target,
+                                          sorterTask.sourceStartOffset,
+                                          sorterTask.targetStartOffset,
+                                          sorterTask.rangeLength,
+                                          sorterTask.recursionDepth,
+                                          sorterTask.resultInTarget,
+                                          sorterTask.threads,
+                                          sorter);
+                } else {
+                    if (bucketMaps == null) {
+                        bucketMaps = 
+                                sorter.acquireBucketMaps(
+                                        DEEPEST_RECURSION_DEPTH + 1,
+                                        BUCKETS);
+                    }
+                    
+                    radixSortImpl(sorterTask.source,
+                                  sorterTask.target,
+                                  sorterTask.sourceStartOffset,
+                                  sorterTask.targetStartOffset,
+                                  sorterTask.rangeLength,
+                                  sorterTask.recursionDepth,
+                                  sorterTask.resultInTarget,
+                                  bucketMaps,
+                                  sorter);
+                }
+            }
+            
+            if (bucketMaps != null) {
+                sorter.releaseBucketMaps(bucketMaps);
+            }
+        }
+    }
+    
+    private static final class LongSorterTask{
+        
+        final long[] source;
+        final long[] target;
+        final int sourceStartOffset;
+        final int targetStartOffset;
+        final int rangeLength;
+        final int recursionDepth;
+        final boolean resultInTarget;
+        final int threads;
+        
+        LongSorterTask(long[] source,
+                       long[] target,
+                       int sourceStartOffset,
+                       int targetStartOffset,
+                       int rangeLength,
+                       int recursionDepth,
+                       boolean resultInTarget,
+                       int threads) {
+            
+            this.source = source;
+            this.target = target;
+            this.sourceStartOffset = sourceStartOffset;
+            this.targetStartOffset = targetStartOffset;
+            this.rangeLength = rangeLength;
+            this.recursionDepth = recursionDepth;
+            this.resultInTarget = resultInTarget;
+            this.threads = threads;
+        }
+    }
+}
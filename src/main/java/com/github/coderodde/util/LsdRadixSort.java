@@ -0,0 +1,378 @@
+package com.github.coderodde.util;
+
+import static com.github.coderodde.util.ParallelRadixSort.BUCKETS;
+import static com.github.coderodde.util.ParallelRadixSort.DEEPEST_RECURSION_DEPTH;
+import com.github.coderodde.util.ParallelRadixSort.HistogramScanner;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * This class implements the parallel least significant digit first radix sort.
+ * Each pass counts the digits of each thread's subrange, computes from the 
+ * counts where each thread writes each bucket, and scatters stably from one
+ * buffer into the other. The digits are 8, 11 or 16 bits wide. Only the bits
+ * between the lowest and the highest byte that are not the same in all the 
+ * elements are sorted, and a pass whose digit is the same in all the 
+ * elements is skipped after counting.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class LsdRadixSort {
+
+    /**
+     * The supported digit widths in bits, in increasing order.
+     */
+    static final int[] RADIX_BITS = { 8, 11, 16 };
+
+    /**
+     * The minimum number of elements per bucket in a thread's subrange for a
+     * digit width to pay off its histogram.
+     */
+    private static final int MINIMUM_ELEMENTS_PER_BUCKET = 16;
+
+    /**
+     * The mask for flipping the sign bit.
+     */
+    private static final int SIGN_BIT_MASK = 0x8000_0000;
+
+    private LsdRadixSort() {
+
+    }
+
+    /**
+     * Sorts the range 
+     * {@code array[fromIndex], ..., array[fromIndex + rangeLength - 1]}.
+     *
+     * @param array             the array holding the range to sort.
+     * @param buffer            the buffer of length at least 
+     *                          {@code rangeLength}.
+     * @param fromIndex         the starting index of the range to sort.
+     * @param rangeLength       the length of the range to sort.
+     * @param constantDigits    the bit mask of the recursion depths at which
+     *                          all the elements have the same byte.
+     * @param threads           the number of threads to use.
+     * @param sorter            the sorter providing the executor and the 
+     *                          bucket maps.
+     * @param histogramScanners the histograms of the range split over 
+     *                          {@code threads}, or {@code null}.
+     */
+    static void sortImpl(int[] array,
+                         int[] buffer,
+                         int fromIndex,
+                         int rangeLength,
+                         int constantDigits,
+                         int threads,
+                         RadixSorter sorter,
+                         HistogramScanner[] histogramScanners) {
+
+        int lowestBit = getLowestBit(constantDigits);
+        int highestBit = getHighestBit(constantDigits);
+        SortConfig config = sorter.getConfig();
+        int radixBits = getRadixBits(config.getRadixBits(),
+                                     rangeLength / threads, 
+                                     highestBit - lowestBit);
+        int buckets = 1 << radixBits;
+
+        if (radixBits != Byte.SIZE) {
+            // The histograms count bytes.
+            histogramScanners = null;
+        }
+
+        Executor executor = sorter.getExecutor();
+        BucketMaps bucketMaps = sorter.acquireBucketMaps(threads, buckets);
+        int[][] bucketSizeMaps = bucketMaps.bucketSizeMaps;
+        int[][] processedMaps = bucketMaps.processedMaps;
+        int[] startIndexMap = bucketMaps.startIndexMaps[0];
+        Runnable[] tasks = new Runnable[threads];
+        int subrangeLength = rangeLength / threads;
+        boolean writeCombining = 
+                rangeLength >= config.getWriteCombiningThreshold()
+                && buckets <= WriteCombiningBuffer.MAXIMUM_BUCKETS;
+
+        int[] source = array;
+        int[] target = buffer;
+        int sourceFromIndex = fromIndex;
+        int targetFromIndex = 0;
+
+        for (int shift = lowestBit; shift < highestBit; shift += radixBits) {
+            if (histogramScanners != null) {
+                // The range is already counted:
+                int depth = DEEPEST_RECURSION_DEPTH - shift / Byte.SIZE;
+
+                for (int t = 0; t != threads; t++) {
+                    System.arraycopy(histogramScanners[t].histogram,
+                                     depth * BUCKETS,
+                                     bucketSizeMaps[t],
+                                     0,
+                                     BUCKETS);
+                }
+
+                // Only the original order is counted.
+                histogramScanners = null;
+            } else {
+                for (int t = 0; t != threads; t++) {
+                    int subrangeFromIndex = sourceFromIndex 
+                                          + t * subrangeLength;
+                    int subrangeToIndex = t == threads - 1 ?
+                            sourceFromIndex + rangeLength :
+                            subrangeFromIndex + subrangeLength;
+
+                    tasks[t] = new DigitCounter(bucketSizeMaps[t],
+                                                source,
+                                                subrangeFromIndex,
+                                                subrangeToIndex,
+                                                shift,
+                                                radixBits);
+                }
+
+                ExecutorTasks.invokeAll(executor, tasks);
+            }
+
+            // Within each bucket, the elements of a thread go after the 
+            // elements of all the threads on its left:
+            int startIndex = targetFromIndex;
+            boolean digitIsConstant = false;
+
+            for (int bucketKey = 0; bucketKey != buckets; bucketKey++) {
+                int offset = 0;
+                startIndexMap[bucketKey] = startIndex;
+
+                for (int t = 0; t != threads; t++) {
+                    processedMaps[t][bucketKey] = offset;
+                    offset += bucketSizeMaps[t][bucketKey];
+                }
+
+                if (offset == rangeLength) {
+                    digitIsConstant = true;
+                    break;
+                }
+
+                startIndex += offset;
+            }
+
+            if (digitIsConstant) {
+                // The pass would not move any element.
+                continue;
+            }
+
+            for (int t = 0; t != threads; t++) {
+                tasks[t] = new DigitInserter(
+                        source,
+                        target,
+                        sourceFromIndex + t * subrangeLength,
+                        t == threads - 1 ?
+                                sourceFromIndex + rangeLength :
+                                sourceFromIndex + (t + 1) * subrangeLength,
+                        startIndexMap,
+                        processedMaps[t],
+                        shift,
+                        radixBits,
+                        writeCombining,
+                        sorter);
+            }
+
+            ExecutorTasks.invokeAll(executor, tasks);
+
+            int[] tmp = source;
+            source = target;
+            target = tmp;
+
+            int tmpFromIndex = sourceFromIndex;
+            sourceFromIndex = targetFromIndex;
+            targetFromIndex = tmpFromIndex;
+        }
+
+        sorter.releaseBucketMaps(bucketMaps);
+
+        if (source != array) {
+            // An odd number of passes leaves the result in the buffer:
+            ExecutorTasks.parallelCopy(buffer,
+                                       0,
+                                       array,
+                                       fromIndex,
+                                       rangeLength,
+                                       threads,
+                                       executor);
+        }
+    }
+
+    /**
+     * Returns the number of passes sorting a range.
+     *
+     * @param configuredRadixBits the configured digit width, or zero.
+     * @param subrangeLength      the number of elements per thread.
+     * @param constantDigits      the bit mask of the constant bytes of the 
+     *                            range.
+     * @return the number of passes.
+     */
+    static int getPasses(int configuredRadixBits, 
+                         int subrangeLength, 
+                         int constantDigits) {
+        int bits = getHighestBit(constantDigits) - getLowestBit(constantDigits);
+        int radixBits = getRadixBits(configuredRadixBits, subrangeLength, bits);
+        return (bits + radixBits - 1) / radixBits;
+    }
+
+    /**
+     * Returns the digit width for sorting {@code bits} bits. Unless 
+     * configured, the width needing the fewest passes is chosen among the 
+     * widths whose histogram is small compared to the subrange of a thread.
+     * Of the widths needing equally many passes, the narrowest is chosen.
+     *
+     * @param configuredRadixBits the configured digit width, or zero.
+     * @param subrangeLength      the number of elements per thread.
+     * @param bits                the number of bits to sort.
+     * @return the digit width.
+     */
+    static int getRadixBits(int configuredRadixBits, 
+                            int subrangeLength, 
+                            int bits) {
+        if (configuredRadixBits != 0) {
+            return configuredRadixBits;
+        }
+
+        int radixBits = RADIX_BITS[0];
+        int passes = (bits + radixBits - 1) / radixBits;
+
+        for (int candidate : RADIX_BITS) {
+            int candidatePasses = (bits + candidate - 1) / candidate;
+
+            if ((long) MINIMUM_ELEMENTS_PER_BUCKET << candidate 
+                    <= subrangeLength
+                    && candidatePasses < passes) {
+                radixBits = candidate;
+                passes = candidatePasses;
+            }
+        }
+
+        return radixBits;
+    }
+
+    /**
+     * Returns the lowest bit of the lowest byte that is not constant.
+     */
+    private static int getLowestBit(int constantDigits) {
+        // The least significant byte is at the deepest recursion depth:
+        int depth = DEEPEST_RECURSION_DEPTH;
+
+        while ((constantDigits & (1 << depth)) != 0) {
+            depth--;
+        }
+
+        return (DEEPEST_RECURSION_DEPTH - depth) * Byte.SIZE;
+    }
+
+    /**
+     * Returns the bit following the highest byte that is not constant.
+     */
+    private static int getHighestBit(int constantDigits) {
+        int depth = Integer.numberOfTrailingZeros(~constantDigits);
+        return (DEEPEST_RECURSION_DEPTH - depth + 1) * Byte.SIZE;
+    }
+
+    private static int getDigit(int datum, int shift, int radixBits) {
+        return ((datum ^ SIGN_BIT_MASK) >>> shift) & ((1 << radixBits) - 1);
+    }
+
+    private static final class DigitCounter implements Runnable {
+
+        private final int[] bucketSizeMap;
+        private final int[] array;
+        private final int fromIndex;
+        private final int toIndex;
+        private final int shift;
+        private final int radixBits;
+
+        DigitCounter(int[] bucketSizeMap,
+                     int[] array,
+                     int fromIndex,
+                     int toIndex,
+                     int shift,
+                     int radixBits) {
+            this.bucketSizeMap = bucketSizeMap;
+            this.array = array;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.shift = shift;
+            this.radixBits = radixBits;
+        }
+
+        @Override
+        public void run() {
+            Arrays.fill(bucketSizeMap, 0);
+
+            for (int i = fromIndex; i != toIndex; i++) {
+                bucketSizeMap[getDigit(array[i], shift, radixBits)]++;
+            }
+        }
+    }
+
+    private static final class DigitInserter implements Runnable {
+
+        private final int[] source;
+        private final int[] target;
+        private final int fromIndex;
+        private final int toIndex;
+        private final int[] startIndexMap;
+        private final int[] processedMap;
+        private final int shift;
+        private final int radixBits;
+        private final boolean writeCombining;
+        private final RadixSorter sorter;
+
+        DigitInserter(int[] source,
+                      int[] target,
+                      int fromIndex,
+                      int toIndex,
+                      int[] startIndexMap,
+                      int[] processedMap,
+                      int shift,
+                      int radixBits,
+                      boolean writeCombining,
+                      RadixSorter sorter) {
+            this.source = source;
+            this.target = target;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.startIndexMap = startIndexMap;
+            this.processedMap = processedMap;
+            this.shift = shift;
+            this.radixBits = radixBits;
+            this.writeCombining = writeCombining;
+            this.sorter = sorter;
+        }
+
+        @Override
+        public void run() {
+            if (writeCombining) {
+                WriteCombiningBuffer writeCombiningBuffer =
+                        sorter.acquireWriteCombiningBuffer(target,
+                                                           startIndexMap,
+                                                           processedMap,
+                                                           1 << radixBits);
+
+                for (int i = fromIndex; i != toIndex; i++) {
+                    int datum = source[i];
+
+                    writeCombiningBuffer.insert(
+                            getDigit(datum, shift, radixBits),
+                            datum);
+                }
+
+                writeCombiningBuffer.flush();
+                sorter.releaseWriteCombiningBuffer(writeCombiningBuffer);
+                return;
+            }
+
+            for (int i = fromIndex; i != toIndex; i++) {
+                int datum = source[i];
+                int bucketKey = getDigit(datum, shift, radixBits);
+
+                target[startIndexMap[bucketKey] 
+                        + processedMap[bucketKey]++] = datum;
+            }
+        }
+    }
+}
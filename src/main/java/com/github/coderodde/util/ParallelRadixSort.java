@@ -1,19 +1,29 @@
 package com.github.coderodde.util;
 
+import com.github.coderodde.util.BucketScheduler.BucketGroup;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
- * This class provides the method for parallel sorting of {@code int} arrays.
+ * This class provides the method for parallel sorting of {@code int}, 
+ * {@code long}, {@code float} and {@code double} arrays.
  * The underlying algorithm is a parallel MSD (most significant digit) radix
  * sort. At each iteration, only a single byte is considered so that the number 
  * of buckets is 256. This implementation honours the sign bit so that the 
  * result of parallel radix sorting is the same as in 
- * {@link java.util.Arrays.parallelSort(int[])}.
+ * {@link java.util.Arrays.parallelSort(int[])}. The parallel phases are run as
+ * tasks on an {@link Executor}, by default on the common 
+ * {@link ForkJoinPool}.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.6 (Jun 3, 2023)
+ * @version 1.7 (Oct 15, 2026)
  * @since 1.6 (Jun 3, 2023)
  */
 public final class ParallelRadixSort {
@@ -21,18 +31,24 @@ public final class ParallelRadixSort {
     /**
      * The number of sort buckets.
      */
-    private static final int BUCKETS = 256;
+    static final int BUCKETS = 256;
     
     /**
      * The index of the most significant byte.
      */
-    private static final int DEEPEST_RECURSION_DEPTH = 3;
+    static final int DEEPEST_RECURSION_DEPTH = 3;
     
     /**
      * The mask for extracting the sign bit.
      */
     private static final int SIGN_BIT_MASK = 0x8000_0000;
     
+    /**
+     * The constant digit mask of a range whose elements are all equal.
+     */
+    private static final int ALL_DIGITS_CONSTANT = 
+            (1 << (DEEPEST_RECURSION_DEPTH + 1)) - 1;
+    
     /**
      * The number of bits per byte.
      */
@@ -51,155 +67,1049 @@ public final class ParallelRadixSort {
     
     /**
      * The array slices smaller than this number of elements will be sorted with
-     * insertion sort.
+     * insertion sort, or with a sorting network when the threshold is at most
+     * {@link SortingNetwork#MAXIMUM_LENGTH}.
      */
-    static final int DEFAULT_INSERTION_SORT_THRESHOLD = 17;
+    static final int DEFAULT_INSERTION_SORT_THRESHOLD = 
+            SortingNetwork.MAXIMUM_LENGTH;
+    
+    /**
+     * The maximum number of distinct keys ({@code max - min + 1}) for which
+     * the counting sort is used instead of the radix sort.
+     */
+    static final int COUNTING_SORT_MAXIMUM_KEY_RANGE = 1 << 16;
     
     /**
      * The minimum workload for a thread.
      */
-    private static final int DEFAULT_THREAD_THRESHOLD = 65536;
+    static final int DEFAULT_THREAD_THRESHOLD = 65536;
     
     /**
-     * Minimum merge sort threshold.
+     * The minimum size of a bucket that is sorted as a task of its own when
+     * running in a {@link ForkJoinPool}. The smaller buckets are sorted by the
+     * task of their parent range.
      */
-    private static final int MINIMUM_MERGESORT_THRESHOLD = 100;
+    static final int MINIMUM_FORKED_BUCKET_SIZE = 1 << 14;
     
     /**
-     * Minimum insertion sort threshold.
+     * Minimum merge sort threshold.
      */
-    private static final int MINIMUM_INSERTION_SORT_THRESHOLD = 1;
+    static final int MINIMUM_MERGESORT_THRESHOLD = 100;
     
     /**
-     * Minimum thread workload.
+     * Minimum insertion sort threshold.
      */
-    private static final int MINIMUM_THREAD_WORKLOAD = 14047;
+    static final int MINIMUM_INSERTION_SORT_THRESHOLD = 1;
     
     /**
-     * The current actual threshold for the insertion sort.
+     * Minimum thread workload.
      */
-    private static volatile int insertionSortThreshold =
-            DEFAULT_INSERTION_SORT_THRESHOLD;
+    static final int MINIMUM_THREAD_WORKLOAD = 14047;
     
     /**
-     * The current actual threshold for the mergesort.
+     * The default minimum length of a range scattered in parallel through the
+     * write-combining buffers.
      */
-    private static volatile int mergesortThreshold = 
-            DEFAULT_MERGESORT_THRESHOLD;
+    static final int DEFAULT_WRITE_COMBINING_THRESHOLD = 1 << 20;
     
     /**
-     * The current actual minimum thread workload in elements.
+     * The configuration of the sorts not given one.
      */
-    private static volatile int minimumThreadWorkload = 
-            DEFAULT_THREAD_THRESHOLD;
+    static volatile SortConfig defaultConfig = SortConfig.INITIAL;
     
     /**
-     * Sets the current insertion sort threshold.
+     * Sets the insertion sort threshold of the default configuration.
      * 
      * @param newInsertionSortThreshold the new insertion sort threshold.
+     * @see SortConfig#withInsertionSortThreshold(int)
      */
-    public static void setInsertionSortThreshold(
+    public static synchronized void setInsertionSortThreshold(
             int newInsertionSortThreshold) {
-        insertionSortThreshold = 
-                Math.max(
-                        newInsertionSortThreshold, 
-                        MINIMUM_INSERTION_SORT_THRESHOLD);
+        defaultConfig = 
+                defaultConfig.withInsertionSortThreshold(
+                        newInsertionSortThreshold);
     }
     
     /**
-     * Sets the current mergesort threshold.
+     * Sets the mergesort threshold of the default configuration.
      * 
      * @param newMergesortThreshold the new mergesort threshold.
+     * @see SortConfig#withMergesortThreshold(int)
      */
-    public static void setMergesortThreshold(int newMergesortThreshold) {
-        mergesortThreshold = 
-                Math.max(
-                    newMergesortThreshold,
-                    MINIMUM_MERGESORT_THRESHOLD);
+    public static synchronized void setMergesortThreshold(
+            int newMergesortThreshold) {
+        defaultConfig = 
+                defaultConfig.withMergesortThreshold(newMergesortThreshold);
     }
     
     /**
-     * Sets the current minimum thread workload.
+     * Sets the minimum thread workload of the default configuration.
      * 
      * @param newMinimumThreadWorkload the new minimum thread workload.
+     * @see SortConfig#withMinimumThreadWorkload(int)
      */
-    public static void setMinimumThreadWorkload(int newMinimumThreadWorkload) {
-        minimumThreadWorkload = 
-                Math.max(
-                        MINIMUM_THREAD_WORKLOAD,
+    public static synchronized void setMinimumThreadWorkload(
+            int newMinimumThreadWorkload) {
+        defaultConfig = 
+                defaultConfig.withMinimumThreadWorkload(
                         newMinimumThreadWorkload);
     }
     
     /**
-     * Sorts the entire input array into non-decreasing order.
+     * Sets the strategy for sorting the large {@code int} ranges of the 
+     * default configuration.
+     * 
+     * @param newSortMode the new sort mode.
+     * @see SortConfig#withSortMode(SortMode)
+     */
+    public static synchronized void setSortMode(SortMode newSortMode) {
+        defaultConfig = defaultConfig.withSortMode(newSortMode);
+    }
+    
+    /**
+     * Sets the digit width of the LSD radix sort of the default 
+     * configuration.
+     * 
+     * @param newRadixBits the new digit width, one of 0, 8, 11 and 16.
+     * @throws IllegalArgumentException if the width is not supported.
+     * @see SortConfig#withRadixBits(int)
+     */
+    public static synchronized void setRadixBits(int newRadixBits) {
+        defaultConfig = defaultConfig.withRadixBits(newRadixBits);
+    }
+    
+    /**
+     * Sets the write-combining threshold of the default configuration.
+     * 
+     * @param newWriteCombiningThreshold the new write-combining threshold.
+     * @see SortConfig#withWriteCombiningThreshold(int)
+     */
+    public static synchronized void setWriteCombiningThreshold(
+            int newWriteCombiningThreshold) {
+        defaultConfig = 
+                defaultConfig.withWriteCombiningThreshold(
+                        newWriteCombiningThreshold);
+    }
+    
+    /**
+     * Sorts the entire input array into non-decreasing order.
+     * 
+     * @param array the array to sort.
+     */
+    public static void parallelSort(int[] array) {
+        parallelSort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the entire input array into non-decreasing order running the 
+     * parallel phases on {@code executor}.
+     * 
+     * @param array    the array to sort.
+     * @param executor the executor to run the parallel phases on.
+     */
+    public static void parallelSort(int[] array, Executor executor) {
+        parallelSort(array, 0, array.length, executor);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]}.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public static void parallelSort(int[] array, int fromIndex, int toIndex) {
+        parallelSort(array, fromIndex, toIndex, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]}
+     * running the parallel phases on {@code executor}. No threads are created
+     * by the sort itself. If {@code executor} is a {@link ForkJoinPool}, its
+     * parallelism bounds the number of parallel tasks per phase.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param executor  the executor to run the parallel phases on.
+     */
+    public static void parallelSort(int[] array, 
+                                    int fromIndex, 
+                                    int toIndex,
+                                    Executor executor) {
+        sortImpl(array, 
+                 fromIndex, 
+                 toIndex, 
+                 new RadixSorter(
+                         SortConfig.getDefault().withExecutor(executor)));
+    }
+    
+    /**
+     * Sorts the entire input array into non-decreasing order using the 
+     * thresholds, the parallelism and the executor of {@code config}.
+     * 
+     * @param array  the array to sort.
+     * @param config the configuration of this sort.
+     */
+    public static void parallelSort(int[] array, SortConfig config) {
+        parallelSort(array, 0, array.length, config);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]} using
+     * the thresholds, the parallelism and the executor of {@code config}. 
+     * Unlike the static setters, the configuration affects only this sort.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param config    the configuration of this sort.
+     */
+    public static void parallelSort(int[] array, 
+                                    int fromIndex, 
+                                    int toIndex,
+                                    SortConfig config) {
+        sortImpl(array, fromIndex, toIndex, new RadixSorter(config));
+    }
+    
+    /**
+     * Starts sorting the entire input array into non-decreasing order on the 
+     * default executor and returns without waiting for the sort.
+     * 
+     * @param array the array to sort.
+     * @return the future completed when the array is sorted.
+     */
+    public static CompletableFuture<Void> parallelSortAsync(int[] array) {
+        return parallelSortAsync(array, SortConfig.getDefault());
+    }
+    
+    /**
+     * Starts sorting the entire input array into non-decreasing order using 
+     * {@code config} and returns without waiting for the sort.
+     * 
+     * @param array  the array to sort.
+     * @param config the configuration of this sort.
+     * @return the future completed when the array is sorted.
+     */
+    public static CompletableFuture<Void> parallelSortAsync(
+            int[] array, 
+            SortConfig config) {
+        return parallelSortAsync(array, 0, array.length, config);
+    }
+    
+    /**
+     * Starts sorting the range 
+     * {@code array[fromIndex], ..., array[toIndex - 1]} using {@code config} 
+     * and returns without waiting for the sort. All the phases of the sort, 
+     * including the joins between them, run on the executor of 
+     * {@code config}, so the calling thread is never blocked. The range must 
+     * not be accessed until the returned future is completed. A failure of 
+     * the sort, or the executor rejecting it, completes the future 
+     * exceptionally.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param config    the configuration of this sort.
+     * @return the future completed when the range is sorted.
+     */
+    public static CompletableFuture<Void> parallelSortAsync(
+            int[] array, 
+            int fromIndex, 
+            int toIndex,
+            SortConfig config) {
+        rangeCheck(array.length, fromIndex, toIndex);
+        RadixSorter sorter = new RadixSorter(config);
+        
+        try {
+            return CompletableFuture.runAsync(
+                    () -> sortImpl(array, fromIndex, toIndex, sorter), 
+                    sorter.getExecutor());
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+    
+    /**
+     * Starts sorting the range 
+     * {@code array[fromIndex], ..., array[toIndex - 1]} using {@code config}
+     * and returns without waiting for the sort. Unlike 
+     * {@link #parallelSortAsync(int[], int, int, SortConfig)}, the returned 
+     * future is completed in {@code callbackExecutor}, so the dependent 
+     * stages not given an executor of their own run there instead of in the 
+     * workers of the sort.
+     * 
+     * @param array            the array holding the target range to sort.
+     * @param fromIndex        the starting, inclusive index of the range.
+     * @param toIndex          the ending, exclusive index of the range.
+     * @param config           the configuration of this sort.
+     * @param callbackExecutor the executor to complete the future in.
+     * @return the future completed when the range is sorted.
+     */
+    public static CompletableFuture<Void> parallelSortAsync(
+            int[] array, 
+            int fromIndex, 
+            int toIndex,
+            SortConfig config,
+            Executor callbackExecutor) {
+        Objects.requireNonNull(
+                callbackExecutor, 
+                "The input callback executor is null.");
+        
+        CompletableFuture<Void> sortFuture = 
+                parallelSortAsync(array, fromIndex, toIndex, config);
+        
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        
+        sortFuture.whenCompleteAsync((result, throwable) -> {
+            if (throwable == null) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(throwable);
+            }
+        }, callbackExecutor);
+        
+        return future;
+    }
+    
+    /**
+     * Sorts the entire input array into non-decreasing order.
+     * 
+     * @param array the array to sort.
+     */
+    public static void parallelSort(long[] array) {
+        parallelSort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the entire input array into non-decreasing order running the 
+     * parallel phases on {@code executor}.
+     * 
+     * @param array    the array to sort.
+     * @param executor the executor to run the parallel phases on.
+     */
+    public static void parallelSort(long[] array, Executor executor) {
+        parallelSort(array, 0, array.length, executor);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]}.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public static void parallelSort(long[] array, int fromIndex, int toIndex) {
+        parallelSort(array, fromIndex, toIndex, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]}
+     * running the parallel phases on {@code executor}.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param executor  the executor to run the parallel phases on.
+     */
+    public static void parallelSort(long[] array, 
+                                    int fromIndex, 
+                                    int toIndex,
+                                    Executor executor) {
+        new RadixSorter(executor).sort(array, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]} using
+     * the thresholds, the parallelism and the executor of {@code config}.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param config    the configuration of this sort.
+     */
+    public static void parallelSort(long[] array, 
+                                    int fromIndex, 
+                                    int toIndex,
+                                    SortConfig config) {
+        new RadixSorter(config).sort(array, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the entire input array into the order of 
+     * {@link java.util.Arrays#sort(float[])}.
+     * 
+     * @param array the array to sort.
+     */
+    public static void parallelSort(float[] array) {
+        parallelSort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the entire input array into the order of 
+     * {@link java.util.Arrays#sort(float[])} running the parallel phases on 
+     * {@code executor}.
+     * 
+     * @param array    the array to sort.
+     * @param executor the executor to run the parallel phases on.
+     */
+    public static void parallelSort(float[] array, Executor executor) {
+        parallelSort(array, 0, array.length, executor);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]} into
+     * the order of {@link java.util.Arrays#sort(float[])}: {@code -0.0} 
+     * precedes {@code 0.0} and the NaN values are put last. The NaN values
+     * are canonicalized.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public static void parallelSort(float[] array, int fromIndex, int toIndex) {
+        parallelSort(array, fromIndex, toIndex, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]} into
+     * the order of {@link java.util.Arrays#sort(float[])} running the parallel
+     * phases on {@code executor}.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param executor  the executor to run the parallel phases on.
+     */
+    public static void parallelSort(float[] array, 
+                                    int fromIndex, 
+                                    int toIndex,
+                                    Executor executor) {
+        new RadixSorter(executor).sort(array, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the entire input array into the order of 
+     * {@link java.util.Arrays#sort(double[])}.
+     * 
+     * @param array the array to sort.
+     */
+    public static void parallelSort(double[] array) {
+        parallelSort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the entire input array into the order of 
+     * {@link java.util.Arrays#sort(double[])} running the parallel phases on 
+     * {@code executor}.
+     * 
+     * @param array    the array to sort.
+     * @param executor the executor to run the parallel phases on.
+     */
+    public static void parallelSort(double[] array, Executor executor) {
+        parallelSort(array, 0, array.length, executor);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]} into
+     * the order of {@link java.util.Arrays#sort(double[])}: {@code -0.0} 
+     * precedes {@code 0.0} and the NaN values are put last. The NaN values
+     * are canonicalized.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public static void parallelSort(double[] array, 
+                                    int fromIndex, 
+                                    int toIndex) {
+        parallelSort(array, fromIndex, toIndex, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]} into
+     * the order of {@link java.util.Arrays#sort(double[])} running the parallel
+     * phases on {@code executor}.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param executor  the executor to run the parallel phases on.
+     */
+    public static void parallelSort(double[] array, 
+                                    int fromIndex, 
+                                    int toIndex,
+                                    Executor executor) {
+        new RadixSorter(executor).sort(array, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the entire {@code keys} array into non-decreasing order and 
+     * applies the same permutation to {@code values}, so that each payload 
+     * stays with its key. The sort is stable.
+     * 
+     * @param keys   the keys to sort.
+     * @param values the payloads of the keys.
+     * @throws IllegalArgumentException if the arrays are of different length.
+     */
+    public static void parallelSort(int[] keys, int[] values) {
+        lengthCheck(keys.length, values.length);
+        parallelSort(keys, values, 0, keys.length);
+    }
+    
+    /**
+     * Sorts the range {@code keys[fromIndex], ..., keys[toIndex - 1]} and
+     * applies the same permutation to 
+     * {@code values[fromIndex], ..., values[toIndex - 1]}. The sort is stable.
+     * 
+     * @param keys      the array holding the keys to sort.
+     * @param values    the array holding the payloads of the keys.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public static void parallelSort(int[] keys, 
+                                    int[] values, 
+                                    int fromIndex, 
+                                    int toIndex) {
+        parallelSort(keys, 
+                     values, 
+                     fromIndex, 
+                     toIndex, 
+                     ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts the range {@code keys[fromIndex], ..., keys[toIndex - 1]} and
+     * applies the same permutation to 
+     * {@code values[fromIndex], ..., values[toIndex - 1]} running the parallel
+     * phases on {@code executor}. The sort is stable.
+     * 
+     * @param keys      the array holding the keys to sort.
+     * @param values    the array holding the payloads of the keys.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param executor  the executor to run the parallel phases on.
+     */
+    public static void parallelSort(int[] keys, 
+                                    int[] values, 
+                                    int fromIndex, 
+                                    int toIndex,
+                                    Executor executor) {
+        new RadixSorter(executor).sort(keys, values, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the entire {@code keys} array into non-decreasing order and 
+     * applies the same permutation to {@code values}, so that each payload 
+     * stays with its key. The sort is stable.
+     * 
+     * @param keys   the keys to sort.
+     * @param values the payloads of the keys.
+     * @throws IllegalArgumentException if the arrays are of different length.
+     */
+    public static void parallelSort(int[] keys, long[] values) {
+        lengthCheck(keys.length, values.length);
+        parallelSort(keys, values, 0, keys.length);
+    }
+    
+    /**
+     * Sorts the range {@code keys[fromIndex], ..., keys[toIndex - 1]} and
+     * applies the same permutation to 
+     * {@code values[fromIndex], ..., values[toIndex - 1]}. The sort is stable.
+     * 
+     * @param keys      the array holding the keys to sort.
+     * @param values    the array holding the payloads of the keys.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public static void parallelSort(int[] keys, 
+                                    long[] values, 
+                                    int fromIndex, 
+                                    int toIndex) {
+        parallelSort(keys, 
+                     values, 
+                     fromIndex, 
+                     toIndex, 
+                     ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts the range {@code keys[fromIndex], ..., keys[toIndex - 1]} and
+     * applies the same permutation to 
+     * {@code values[fromIndex], ..., values[toIndex - 1]} running the parallel
+     * phases on {@code executor}. The sort is stable.
+     * 
+     * @param keys      the array holding the keys to sort.
+     * @param values    the array holding the payloads of the keys.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param executor  the executor to run the parallel phases on.
+     */
+    public static void parallelSort(int[] keys, 
+                                    long[] values, 
+                                    int fromIndex, 
+                                    int toIndex,
+                                    Executor executor) {
+        new RadixSorter(executor).sort(keys, values, fromIndex, toIndex);
+    }
+    
+    /**
+     * Returns the permutation that sorts {@code array} without modifying 
+     * {@code array}. The permutation is stable: the indices of equal elements
+     * are in increasing order.
+     * 
+     * @param array the array to sort by.
+     * @return the array {@code indices} such that
+     *         {@code array[indices[0]], array[indices[1]], ...} is sorted.
+     */
+    public static int[] parallelArgSort(int[] array) {
+        return parallelArgSort(array, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Returns the permutation that sorts {@code array} running the parallel
+     * phases on {@code executor}. The permutation is stable.
+     * 
+     * @param array    the array to sort by.
+     * @param executor the executor to run the parallel phases on.
+     * @return the array {@code indices} such that
+     *         {@code array[indices[0]], array[indices[1]], ...} is sorted.
+     */
+    public static int[] parallelArgSort(int[] array, Executor executor) {
+        return new RadixSorter(executor).argSort(array);
+    }
+    
+    /**
+     * Sorts the entire input array into non-decreasing order without an 
+     * auxiliary buffer. The extra space depends only on the number of threads.
+     * 
+     * @param array the array to sort.
+     */
+    public static void parallelSortInPlace(int[] array) {
+        parallelSortInPlace(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]} 
+     * without an auxiliary buffer. The extra space depends only on the number
+     * of threads.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public static void parallelSortInPlace(int[] array,
+                                           int fromIndex,
+                                           int toIndex) {
+        new RadixSorter().sortInPlace(array, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]} using
+     * the executor, the buffer and the bucket maps of {@code sorter}.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param sorter    the sorter providing the resources.
+     */
+    static void sortImpl(int[] array, 
+                         int fromIndex, 
+                         int toIndex, 
+                         RadixSorter sorter) {
+        rangeCheck(array.length, fromIndex, toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < 2) {
+            // Trivially sorted, return.
+            return;
+        }
+        
+        SortConfig config = sorter.getConfig();
+        
+        if (rangeLength <= config.getInsertionSortThreshold()) {
+            smallSort(array, fromIndex, rangeLength);
+            return;
+        }
+        
+        int[] buffer = sorter.getBuffer(rangeLength);
+        
+        if (rangeLength <= config.getMergesortThreshold()) {
+            mergesort(
+                    array, 
+                    buffer, 
+                    fromIndex,
+                    0, 
+                    rangeLength, 
+                    false,
+                    config.getInsertionSortThreshold());
+            
+            return;
+        }
+        
+        int threads = 
+                Math.min(
+                        sorter.getParallelism(), 
+                        rangeLength / config.getMinimumThreadWorkload());
+        
+        threads = Math.max(threads, 1);
+        
+        CoreBudget.run(
+                threads, 
+                sorter, 
+                grantedThreads -> 
+                        sortRange(
+                                array,
+                                buffer,
+                                fromIndex,
+                                rangeLength,
+                                grantedThreads,
+                                sorter));
+    }
+    
+    /**
+     * Sorts the range of length {@code rangeLength} starting at 
+     * {@code fromIndex} using {@code threads} threads.
+     * 
+     * @param array       the array holding the range to sort.
+     * @param buffer      the buffer of at least {@code rangeLength} elements.
+     * @param fromIndex   the starting index of the range to sort.
+     * @param rangeLength the length of the range to sort.
+     * @param threads     the number of threads to use.
+     * @param sorter      the sorter providing the resources.
+     */
+    private static void sortRange(int[] array,
+                                  int[] buffer,
+                                  int fromIndex,
+                                  int rangeLength,
+                                  int threads,
+                                  RadixSorter sorter) {
+        SortConfig config = sorter.getConfig();
+        
+        if (RunAdaptiveSort.trySort(
+                array, 
+                buffer, 
+                fromIndex, 
+                rangeLength, 
+                threads, 
+                sorter)) {
+            // Sorted, reversed or a few runs.
+            return;
+        }
+        
+        HistogramScanner[] histogramScanners = null;
+        int minimum;
+        int maximum;
+        int constantDigits;
+        
+        if (threads == 1) {
+            RangeScanner rangeScanner = 
+                    scanRange(
+                            array, 
+                            fromIndex, 
+                            rangeLength, 
+                            threads, 
+                            sorter.getExecutor());
+            
+            if (rangeScanner.differingBits == 0) {
+                // All the elements are equal, nothing to sort:
+                return;
+            }
+            
+            minimum = rangeScanner.minimum;
+            maximum = rangeScanner.maximum;
+            constantDigits = getConstantDigits(rangeScanner.differingBits);
+        } else {
+            // Count all the bytes in a single parallel pass:
+            histogramScanners = 
+                    scanHistograms(
+                            array, 
+                            fromIndex, 
+                            rangeLength, 
+                            threads, 
+                            sorter.getExecutor());
+            
+            constantDigits = 
+                    getConstantDigits(histogramScanners, rangeLength);
+            
+            if (constantDigits == ALL_DIGITS_CONSTANT) {
+                // All the elements are equal, nothing to sort:
+                return;
+            }
+            
+            minimum = histogramScanners[0].minimum;
+            maximum = histogramScanners[0].maximum;
+            
+            for (int i = 1; i != threads; i++) {
+                minimum = Math.min(minimum, histogramScanners[i].minimum);
+                maximum = Math.max(maximum, histogramScanners[i].maximum);
+            }
+        }
+        
+        long keyRange = (long) maximum - minimum + 1L;
+        
+        if (keyRange <= COUNTING_SORT_MAXIMUM_KEY_RANGE 
+                && keyRange <= rangeLength) {
+            // Few distinct values, count them instead of scattering:
+            CountingSort.sortImpl(
+                    array, 
+                    fromIndex, 
+                    rangeLength, 
+                    minimum,
+                    (int) keyRange, 
+                    threads, 
+                    sorter);
+            
+            return;
+        }
+        
+        if (isLsdPreferred(rangeLength, threads, constantDigits, config)) {
+            LsdRadixSort.sortImpl(
+                    array, 
+                    buffer, 
+                    fromIndex, 
+                    rangeLength, 
+                    constantDigits, 
+                    threads, 
+                    sorter, 
+                    histogramScanners);
+            
+            return;
+        }
+        
+        // Skip the leading bytes that are the same in all the elements:
+        int recursionDepth = Integer.numberOfTrailingZeros(~constantDigits);
+        
+        if (threads == 1) {
+            BucketMaps bucketMaps = 
+                    sorter.acquireBucketMaps(
+                            DEEPEST_RECURSION_DEPTH + 1, 
+                            BUCKETS);
+            
+            radixSortImpl(
+                    array, 
+                    buffer,
+                    fromIndex, 
+                    0,
+                    rangeLength, 
+                    recursionDepth,
+                    false,
+                    bucketMaps,
+                    sorter);
+            
+            sorter.releaseBucketMaps(bucketMaps);
+        } else {
+            parallelRadixSortImpl(
+                    array, 
+                    buffer, 
+                    fromIndex, 
+                    0, 
+                    rangeLength,
+                    recursionDepth,
+                    false,
+                    threads,
+                    sorter,
+                    histogramScanners);
+        }
+    }
+    
+    /**
+     * Scans the range in parallel for its minimum, its maximum and the bitwise
+     * OR of {@code array[fromIndex] ^ array[i]} over all {@code i} in the 
+     * range. The set bits of the latter are the bits that are not the same in
+     * all the elements of the range.
+     * 
+     * @param array       the array holding the range.
+     * @param fromIndex   the starting index of the range.
+     * @param rangeLength the length of the range.
+     * @param threads     the number of threads to use.
+     * @param executor    the executor to run the threads on.
+     * @return the statistics of the range.
+     */
+    static RangeScanner scanRange(int[] array, 
+                                  int fromIndex,
+                                  int rangeLength,
+                                  int threads,
+                                  Executor executor) {
+        
+        int firstElement = array[fromIndex];
+        Runnable[] tasks = new Runnable[threads];
+        
+        ExecutorTasks.splitRange(
+                tasks, 
+                rangeLength, 
+                (from, to) -> new RangeScanner(
+                        array,
+                        fromIndex + from,
+                        fromIndex + to,
+                        firstElement));
+        
+        ExecutorTasks.invokeAll(executor, tasks);
+        
+        RangeScanner result = (RangeScanner) tasks[0];
+        
+        for (int i = 1; i != threads; i++) {
+            result.merge((RangeScanner) tasks[i]);
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Counts in parallel, in a single pass over the range, the occurrences of
+     * each byte value at each byte position. The range is split over the 
+     * threads exactly as in the scatter phase, so that the counts of a byte
+     * position are the bucket sizes of each thread at that recursion depth.
+     * 
+     * @param array       the array holding the range.
+     * @param fromIndex   the starting index of the range.
+     * @param rangeLength the length of the range.
+     * @param threads     the number of threads to use.
+     * @param executor    the executor to run the threads on.
+     * @return the histograms of each thread.
+     */
+    static HistogramScanner[] scanHistograms(int[] array, 
+                                             int fromIndex,
+                                             int rangeLength,
+                                             int threads,
+                                             Executor executor) {
+        
+        HistogramScanner[] histogramScanners = new HistogramScanner[threads];
+        
+        ExecutorTasks.splitRange(
+                histogramScanners, 
+                rangeLength, 
+                (from, to) -> new HistogramScanner(
+                        array,
+                        fromIndex + from,
+                        fromIndex + to));
+        
+        ExecutorTasks.invokeAll(executor, histogramScanners);
+        return histogramScanners;
+    }
+    
+    /**
+     * Returns the bit mask of the byte positions, or recursion depths, at 
+     * which all the elements of the range have the same byte. The bit 
+     * {@code d} stands for the recursion depth {@code d}.
+     * 
+     * @param histogramScanners the histograms of the range.
+     * @param rangeLength       the length of the range.
+     * @return the bit mask of the constant bytes.
+     */
+    static int getConstantDigits(HistogramScanner[] histogramScanners, 
+                                 int rangeLength) {
+        int constantDigits = 0;
+        
+        for (int depth = 0; depth <= DEEPEST_RECURSION_DEPTH; depth++) {
+            int offset = depth * BUCKETS;
+            
+            for (int bucketKey = 0; bucketKey != BUCKETS; bucketKey++) {
+                int bucketSize = 0;
+                
+                for (HistogramScanner histogramScanner : histogramScanners) {
+                    bucketSize += histogramScanner.histogram[offset + bucketKey];
+                }
+                
+                if (bucketSize == rangeLength) {
+                    constantDigits |= 1 << depth;
+                    break;
+                }
+                
+                if (bucketSize != 0) {
+                    // At least two distinct bytes at this depth.
+                    break;
+                }
+            }
+        }
+        
+        return constantDigits;
+    }
+    
+    /**
+     * Returns the bit mask of the recursion depths at which all the elements
+     * have the same byte, given the bits that are not the same in all the 
+     * elements.
      * 
-     * @param array the array to sort.
+     * @param differingBits the bits that differ in the range.
+     * @return the bit mask of the constant bytes.
      */
-    public static void parallelSort(int[] array) {
-        parallelSort(array, 0, array.length);
+    static int getConstantDigits(int differingBits) {
+        int constantDigits = 0;
+        
+        for (int depth = 0; depth <= DEEPEST_RECURSION_DEPTH; depth++) {
+            int shift = (DEEPEST_RECURSION_DEPTH - depth) * BITS_PER_BYTE;
+            
+            if (((differingBits >>> shift) & EXTRACT_BYTE_MASK) == 0) {
+                constantDigits |= 1 << depth;
+            }
+        }
+        
+        return constantDigits;
     }
     
     /**
-     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]}.
+     * Decides whether the LSD radix sort should sort a range. The MSD radix 
+     * sort scatters the range once per recursion level until the buckets fit
+     * in the mergesort, so it makes about 
+     * {@code log_256(rangeLength / mergesortThreshold)} scatters. The LSD 
+     * radix sort makes one scatter per digit, each perfectly balanced over 
+     * the threads and with sequential reads, and wins unless it makes more 
+     * than one scatter more than the MSD radix sort.
      * 
-     * @param array     the array holding the target range to sort.
-     * @param fromIndex the starting, inclusive index of the range to sort.
-     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @param rangeLength    the length of the range.
+     * @param threads        the number of threads to use.
+     * @param constantDigits the bit mask of the constant bytes of the range.
+     * @param config         the configuration of the sort.
+     * @return {@code true} if the LSD radix sort should be used.
      */
-    public static void parallelSort(int[] array, int fromIndex, int toIndex) {
-        rangeCheck(array.length, fromIndex, toIndex);
-        
-        int rangeLength = toIndex - fromIndex;
-        
-        if (rangeLength < 2) {
-            // Trivially sorted, return.
-            return;
+    static boolean isLsdPreferred(int rangeLength, 
+                                  int threads, 
+                                  int constantDigits,
+                                  SortConfig config) {
+        switch (config.getSortMode()) {
+            case MSD:
+                return false;
+                
+            case LSD:
+                return true;
+                
+            default:
+                break;
         }
         
-        if (rangeLength <= insertionSortThreshold) {
-            insertionSort(array, fromIndex, rangeLength);
-            return;
-        }
+        int lsdPasses = LsdRadixSort.getPasses(config.getRadixBits(),
+                                               rangeLength / threads, 
+                                               constantDigits);
         
-        int[] buffer = new int[rangeLength];
+        int msdPasses = 0;
         
-        if (rangeLength <= mergesortThreshold) {
-            mergesort(
-                    array, 
-                    buffer, 
-                    fromIndex,
-                    0, 
-                    rangeLength, 
-                    0);
-            
-            return;
+        for (long bucketSize = rangeLength; 
+                bucketSize > config.getMergesortThreshold(); 
+                bucketSize /= BUCKETS) {
+            msdPasses++;
         }
         
-        int threads = 
-                Math.min(
-                        Runtime.getRuntime().availableProcessors(), 
-                        rangeLength / minimumThreadWorkload);
-        
-        threads = Math.max(threads, 1);
-        
-        if (threads == 1) {
-            radixSortImpl(
-                    array, 
-                    buffer,
-                    fromIndex, 
-                    0,
-                    rangeLength, 
-                    0);
-        } else {
-            parallelRadixSortImpl(
-                    array, 
-                    buffer, 
-                    fromIndex, 
-                    0, 
-                    rangeLength,
-                    0,
-                    threads);
+        return lsdPasses <= msdPasses + 1;
+    }
+    
+    /**
+     * Returns the maximum number of parallel tasks per phase when running on
+     * {@code executor}.
+     * 
+     * @param executor the target executor.
+     * @return the parallelism.
+     */
+    static int getParallelism(Executor executor) {
+        if (executor instanceof ForkJoinPool 
+                && executor != ForkJoinPool.commonPool()) {
+            return ((ForkJoinPool) executor).getParallelism();
         }
+        
+        // The calling thread participates in the sorting, so the common pool
+        // together with the caller may use all the processors:
+        return Runtime.getRuntime().availableProcessors();
     }
     
     private static void parallelRadixSortImpl(
@@ -209,60 +1119,62 @@ public final class ParallelRadixSort {
                 int targetFromIndex,
                 int rangeLength,
                 int recursionDepth,
-                int threads) {
+                boolean resultInTarget,
+                int threads,
+                RadixSorter sorter,
+                HistogramScanner[] histogramScanners) {
         
         int startIndex = sourceFromIndex;
         int subrangeLength = rangeLength / threads;
+        Executor executor = sorter.getExecutor();
+        BucketMaps bucketMaps = sorter.acquireBucketMaps(threads, BUCKETS);
         
-        BucketSizeCounterThread[] bucketSizeCounterThreads = 
-                new BucketSizeCounterThread[threads];
+        BucketSizeCounter[] bucketSizeCounters = 
+                new BucketSizeCounter[threads];
         
-        // Spawn all but the rightmost bucket size counter thread. The rightmost
-        // thread will be run in this thread as a mild optimization:
-        for (int i = 0; i != bucketSizeCounterThreads.length - 1; i++) {
-            BucketSizeCounterThread bucketSizeCounterThread = 
-                    new BucketSizeCounterThread(
+        for (int i = 0; i != bucketSizeCounters.length - 1; i++) {
+            bucketMaps.clearRow(i);
+            bucketSizeCounters[i] = 
+                    new BucketSizeCounter(
+                            bucketMaps.bucketSizeMaps[i],
                             source,
                             startIndex,
                             startIndex += subrangeLength, 
                             recursionDepth);
-            
-            bucketSizeCounterThread.start();
-            bucketSizeCounterThreads[i] = bucketSizeCounterThread;
         }
         
-        // Run the last bucket size counter thread in this thread:
-        BucketSizeCounterThread lastBucketSizeCounterThread =
-                new BucketSizeCounterThread(
+        bucketMaps.clearRow(threads - 1);
+        bucketSizeCounters[threads - 1] =
+                new BucketSizeCounter(
+                    bucketMaps.bucketSizeMaps[threads - 1],
                     source, 
                     startIndex, 
                     sourceFromIndex + rangeLength, 
                     recursionDepth);
         
-        // Run the last bucket size thread in this thread:
-        lastBucketSizeCounterThread.run(); 
-        bucketSizeCounterThreads[threads - 1] = lastBucketSizeCounterThread;
-        
-        // Join all the spawned bucket size counter threads:
-        for (int i = 0; i != threads - 1; i++) {
-            BucketSizeCounterThread bucketSizeCounterThread = 
-                    bucketSizeCounterThreads[i];
-            
-            try {
-                bucketSizeCounterThread.join();
-            } catch (InterruptedException ex) {
-                throw new RuntimeException(
-                        "Could not join a bucket size counter thread.",
-                        ex);
+        if (histogramScanners == null) {
+            // Run all the bucket size counters. The rightmost one will be run
+            // in this thread as a mild optimization:
+            ExecutorTasks.invokeAll(executor, bucketSizeCounters);
+        } else {
+            // The range is already counted:
+            for (int i = 0; i != threads; i++) {
+                System.arraycopy(
+                        histogramScanners[i].histogram, 
+                        recursionDepth * BUCKETS, 
+                        bucketMaps.bucketSizeMaps[i], 
+                        0, 
+                        BUCKETS);
             }
         }
         
         // Build the global bucket size map:
-        int[] globalBucketSizeMap = new int[BUCKETS];
+        int[] globalBucketSizeMap = bucketMaps.globalBucketSizeMap;
+        Arrays.fill(globalBucketSizeMap, 0);
         
         for (int i = 0; i != threads; i++) {
             int[] localBucketSizeMap = 
-                    bucketSizeCounterThreads[i].getLocalBucketSizeMap();
+                    bucketSizeCounters[i].getLocalBucketSizeMap();
             
             for (int j = 0; j != BUCKETS; j++) {
                 globalBucketSizeMap[j] += localBucketSizeMap[j];
@@ -277,8 +1189,61 @@ public final class ParallelRadixSort {
             }
         }
         
+        if (numberOfNonemptyBuckets == 1) {
+            // All the elements fall into the same bucket. Skip scattering, 
+            // and count all the remaining bytes in a single pass. This finds
+            // the ranges of equal elements, skips all the constant bytes, and
+            // the counts are reused for the next byte that differs:
+            sorter.releaseBucketMaps(bucketMaps);
+            
+            int constantDigits = ALL_DIGITS_CONSTANT;
+            HistogramScanner[] nextHistogramScanners = null;
+            
+            if (recursionDepth != DEEPEST_RECURSION_DEPTH) {
+                nextHistogramScanners = 
+                        scanHistograms(
+                                source, 
+                                sourceFromIndex, 
+                                rangeLength, 
+                                threads, 
+                                executor);
+                
+                constantDigits = 
+                        getConstantDigits(nextHistogramScanners, rangeLength) 
+                        | ((1 << (recursionDepth + 1)) - 1);
+            }
+            
+            if (constantDigits == ALL_DIGITS_CONSTANT) {
+                // All the elements are equal.
+                if (resultInTarget) {
+                    ExecutorTasks.parallelCopy(
+                            source, 
+                            sourceFromIndex, 
+                            target,
+                            targetFromIndex,
+                            rangeLength,
+                            threads,
+                            executor);
+                }
+            } else {
+                parallelRadixSortImpl(
+                        source,
+                        target, 
+                        sourceFromIndex,
+                        targetFromIndex,
+                        rangeLength, 
+                        Integer.numberOfTrailingZeros(~constantDigits),
+                        resultInTarget,
+                        threads,
+                        sorter,
+                        nextHistogramScanners);
+            }
+            
+            return;
+        }
+        
         int spawnDegree = Math.min(numberOfNonemptyBuckets, threads);
-        int[] startIndexMap = new int[BUCKETS];
+        int[] startIndexMap = bucketMaps.startIndexMaps[0];
         startIndexMap[0] = targetFromIndex;
         
         for (int i = 1; i != BUCKETS; i++) {
@@ -286,12 +1251,13 @@ public final class ParallelRadixSort {
                              + globalBucketSizeMap[i - 1];
         }
         
-        int[][] processedMaps = new int[spawnDegree][BUCKETS];
+        // Row 0 is cleared by now, the other rows are overwritten:
+        int[][] processedMaps = bucketMaps.processedMaps;
         
         // Make the preprocessing maps independent of each thread:
         for (int i = 1; i != spawnDegree; i++) {
             int[] partialBucketSizeMap =
-                    bucketSizeCounterThreads[i - 1].getLocalBucketSizeMap();
+                    bucketSizeCounters[i - 1].getLocalBucketSizeMap();
             
             for (int j = 0; j != BUCKETS; j++) {
                 processedMaps[i][j] = processedMaps[i - 1][j]
@@ -300,143 +1266,129 @@ public final class ParallelRadixSort {
         }
         
         int sourceStartIndex = sourceFromIndex;
+        SortConfig config = sorter.getConfig();
+        boolean writeCombining = 
+                rangeLength >= config.getWriteCombiningThreshold();
         
-        BucketInserterThread[] bucketInserterThreads = 
-                new BucketInserterThread[spawnDegree];
+        BucketInserter[] bucketInserters = new BucketInserter[spawnDegree];
         
-        // Spawn all but the rightmost bucket inserter thread. The rightmost
-        // thread will be run in this thread as a mild optimization:
         for (int i = 0; i != spawnDegree - 1; i++) {
-            BucketInserterThread bucketInserterThread = 
-                    new BucketInserterThread(
+            bucketInserters[i] = 
+                    new BucketInserter(
                             source,
                             target,
                             sourceStartIndex,
                             startIndexMap,
                             processedMaps[i],
                             subrangeLength,
-                            recursionDepth);
+                            recursionDepth,
+                            writeCombining,
+                            sorter);
             
             sourceStartIndex += subrangeLength;
-            
-            bucketInserterThread.start();
-            bucketInserterThreads[i] = bucketInserterThread;
         }
         
-        BucketInserterThread lastBucketInserterThread =
-                new BucketInserterThread(
+        bucketInserters[spawnDegree - 1] =
+                new BucketInserter(
                             source,
                             target,
                             sourceStartIndex,
                             startIndexMap,
                             processedMaps[spawnDegree - 1],
                             rangeLength - (spawnDegree - 1) * subrangeLength,
-                            recursionDepth);
+                            recursionDepth,
+                            writeCombining,
+                            sorter);
         
-        // Run the last, rightmost bucket inserter thread in this thread:
-        lastBucketInserterThread.run();
-        bucketInserterThreads[spawnDegree - 1] = lastBucketInserterThread;
-        
-        // Join all the spawned bucket inserter threads:
-        for (int i = 0; i != spawnDegree - 1; i++) {
-            BucketInserterThread bucketInserterThread = 
-                    bucketInserterThreads[i];
-            
-            try {
-                bucketInserterThread.join();
-            } catch (InterruptedException ex) {
-                throw new RuntimeException(
-                        "Could not join a bucket inserter thread.",
-                        ex);
-            }
-        }
+        // Run all the bucket inserters, the rightmost in this thread:
+        ExecutorTasks.invokeAll(executor, bucketInserters);
         
         if (recursionDepth == DEEPEST_RECURSION_DEPTH) {
             // Nowhere to recur, all bytes are processed. Return.
-            return;
-        }
-        
-        ListOfBucketKeyLists bucketIndexListArray =
-                new ListOfBucketKeyLists(spawnDegree);
-        
-        for (int i = 0; i != spawnDegree; i++) {
-            BucketKeyList bucketKeyList = 
-                    new BucketKeyList(numberOfNonemptyBuckets);
+            sorter.releaseBucketMaps(bucketMaps);
             
-            bucketIndexListArray.addBucketKeyList(bucketKeyList);
-        }
-        
-        // Match each thread to the number of threads it may run in:
-        int[] threadCountMap = new int[spawnDegree];
-        
-        // ... basic thread counts...
-        for (int i = 0; i != spawnDegree; i++) {
-            threadCountMap[i] = threads / spawnDegree;
-        }
-        
-        // ... make sure all threads are in use:
-        for (int i = 0; i != threads % spawnDegree; i++) {
-            threadCountMap[i]++;
-        }
-        
-        // Contains all the keys of all the non-empty buckets:
-        BucketKeyList nonEmptyBucketIndices = 
-                new BucketKeyList(numberOfNonemptyBuckets);
-        
-        for (int bucketKey = 0; bucketKey != BUCKETS; bucketKey++) {
-            if (globalBucketSizeMap[bucketKey] != 0) {
-                nonEmptyBucketIndices.addBucketKey(bucketKey);
+            if (!resultInTarget) {
+                ExecutorTasks.parallelCopy(
+                        target, 
+                        targetFromIndex, 
+                        source,
+                        sourceFromIndex,
+                        rangeLength,
+                        threads,
+                        executor);
             }
+            
+            return;
         }
         
-        // Shuffle the bucket keys:
-        nonEmptyBucketIndices.shuffle(new Random());
+        boolean virtualThreads = 
+                config.usesVirtualThreads() && VirtualThreads.isAvailable();
         
-        // Distributed the buckets over sorter task lists:
-        int frontIndex = 0;
-        int cursorIndex = 0;
-        int listIndex = 0;
-        int optimalSubrangeLength = rangeLength / spawnDegree;
-        int packed = 0;
-        int numberOfNonEmptyBuckets = nonEmptyBucketIndices.size();
-        
-        while (cursorIndex != numberOfNonEmptyBuckets) {
-            int bucketKey = nonEmptyBucketIndices.getBucketKey(cursorIndex++);
-            int tmp = globalBucketSizeMap[bucketKey];
-            packed += tmp;
+        if (executor instanceof ForkJoinPool || virtualThreads) {
+            // A task per bucket, the idle workers steal the remaining ones or
+            // the scheduler of the virtual threads balances them:
+            Sorter[] sorters = new Sorter[numberOfNonemptyBuckets];
+            int sorterIndex = 0;
             
-            if (packed >= optimalSubrangeLength 
-                    || cursorIndex == numberOfNonEmptyBuckets) {
-                
-                packed = 0;
+            for (int bucketKey = 0; bucketKey != BUCKETS; bucketKey++) {
+                int bucketSize = globalBucketSizeMap[bucketKey];
                 
-                for (int i = frontIndex; i != cursorIndex; i++) {
-                    int bucketKey2 = nonEmptyBucketIndices.getBucketKey(i);
-                    
-                    BucketKeyList bucketKeyList = 
-                            bucketIndexListArray.getBucketKeyList(listIndex);
-                    
-                    bucketKeyList.addBucketKey(bucketKey2);
+                if (bucketSize == 0) {
+                    continue;
                 }
                 
-                listIndex++;
-                frontIndex = cursorIndex;
+                int bucketThreads = 
+                        Math.min(
+                                threads, 
+                                bucketSize 
+                                        / config.getMinimumThreadWorkload());
+                
+                SorterTask sorterTask =
+                        new SorterTask(
+                                target,
+                                source,
+                                startIndexMap[bucketKey],
+                                startIndexMap[bucketKey] - 
+                                        targetFromIndex + 
+                                        sourceFromIndex,
+                                bucketSize,
+                                recursionDepth + 1,
+                                !resultInTarget,
+                                Math.max(bucketThreads, 1));
+                
+                sorters[sorterIndex++] = 
+                        new Sorter(List.of(sorterTask), sorter);
+            }
+            
+            sorter.releaseBucketMaps(bucketMaps);
+            
+            if (virtualThreads) {
+                // A virtual thread per bucket, joined before returning. The
+                // first failure is rethrown after all the buckets are done:
+                ExecutorTasks.invokeAll(VirtualThreads.EXECUTOR, sorters);
+            } else {
+                ExecutorTasks.forkAll((ForkJoinPool) executor, sorters);
             }
+            
+            return;
         }
         
-        sourceStartIndex = sourceFromIndex;
+        // Assign the buckets to the sorters by their sizes:
+        List<BucketGroup> bucketGroups =
+                BucketScheduler.schedule(
+                        globalBucketSizeMap,
+                        numberOfNonemptyBuckets,
+                        rangeLength,
+                        threads,
+                        config.getMinimumThreadWorkload());
         
-        List<List<SorterTask>> arrayOfTaskArrays = 
-                new ArrayList<>(spawnDegree);
+        Sorter[] sorters = new Sorter[bucketGroups.size()];
         
-        for (int i = 0; i != spawnDegree; i++) {
-            List<SorterTask> taskArray = 
-                    new ArrayList<>(BUCKETS);
-            
-            BucketKeyList bucketKeyList = 
-                    bucketIndexListArray.getBucketKeyList(i);
-            
+        for (int i = 0; i != sorters.length; i++) {
+            BucketGroup bucketGroup = bucketGroups.get(i);
+            BucketKeyList bucketKeyList = bucketGroup.bucketKeys;
             int size = bucketKeyList.size();
+            List<SorterTask> taskArray = new ArrayList<>(size);
             
             for (int idx = 0; idx != size; idx++) {
                 int bucketKey = bucketKeyList.getBucketKey(idx);
@@ -452,43 +1404,24 @@ public final class ParallelRadixSort {
                                 
                                 globalBucketSizeMap[bucketKey],
                                 recursionDepth + 1,
-                                threadCountMap[i]);
+                                !resultInTarget,
+                                bucketGroup.threads);
                 
                 taskArray.add(sorterTask);
             }
             
-            arrayOfTaskArrays.add(taskArray);
-        }
-        
-        SorterThread[] sorterThreads = new SorterThread[spawnDegree - 1];
-        
-        // Recur into deeper depth via multithreading:
-        for (int i = 0; i != sorterThreads.length; i++) {
-            SorterThread sorterThread = 
-                    new SorterThread(
-                            arrayOfTaskArrays.get(i));
-            
-            sorterThread.start();
-            sorterThreads[i] = sorterThread;
+            sorters[i] = new Sorter(taskArray, sorter);
         }
         
-        // Run the rightmost sorter thread in this thread:
-        new SorterThread(
-                arrayOfTaskArrays.get(spawnDegree - 1)).run();;
+        // The bucket maps are no longer needed, let the deeper levels reuse
+        // them:
+        sorter.releaseBucketMaps(bucketMaps);
         
-        // Join all the actually spawned sorter threads:
-        for (SorterThread sorterThread : sorterThreads) {
-            try {
-                sorterThread.join();
-            } catch (InterruptedException ex) {
-                throw new RuntimeException(
-                        "Could not join a sorter thread.",
-                        ex);
-            }
-        }
+        // Recur into deeper depth, the rightmost sorter runs in this thread:
+        ExecutorTasks.invokeAll(executor, sorters);
     }
     
-    private static void rangeCheck(
+    static void rangeCheck(
             int arrayLength, 
             int fromIndex, 
             int toIndex) {
@@ -506,12 +1439,21 @@ public final class ParallelRadixSort {
             throw new ArrayIndexOutOfBoundsException(toIndex);
         }
     }
-    
+
+    static void lengthCheck(int keysLength, int valuesLength) {
+        if (keysLength != valuesLength) {
+            throw new IllegalArgumentException(
+                "keys.length(" + keysLength + ") != values.length("
+                        + valuesLength + ")");
+        }
+    }
+
     /**
      * Sorts the range 
      * {@code <source[sourceFromIndex], ..., source[sourceFromIndex + rangeLength - 1>}
      * and stores the result in 
-     * {@code <target[targetFromIndex], ..., target[targetFromIndex + rangeLength -l>}.
+     * {@code <target[targetFromIndex], ..., target[targetFromIndex + rangeLength -l>}
+     * if {@code resultInTarget} is set, and back in {@code source} otherwise.
      * 
      * @param source          the source array.
      * @param target          the target array.
@@ -520,20 +1462,33 @@ public final class ParallelRadixSort {
      * @param targetFromIndex the starting index of the range to put the result
      *                        in.
      * @param rangeLength     the length of the range to sort.
-     * @param recursionDepth       the recursion depth.
+     * @param recursionDepth  the recursion depth.
+     * @param resultInTarget  whether the sorted range must end up in 
+     *                        {@code target}.
+     * @param bucketMaps      the bucket maps, one row per recursion depth.
+     * @param sorter          the sorter providing the configuration. If this
+     *                        thread is a worker of its {@link ForkJoinPool},
+     *                        the idle workers may steal the large buckets.
      */
     private static void radixSortImpl(int[] source,
                                       int[] target,
                                       int sourceFromIndex,
                                       int targetFromIndex,
                                       int rangeLength,
-                                      int recursionDepth) {
+                                      int recursionDepth,
+                                      boolean resultInTarget,
+                                      BucketMaps bucketMaps,
+                                      RadixSorter sorter) {
         
-        int[] bucketSizeMap = new int[BUCKETS];
-        int[] startIndexMap = new int[BUCKETS];
-        int[] processedMap  = new int[BUCKETS];
+        bucketMaps.clearRow(recursionDepth);
+        
+        int[] bucketSizeMap = bucketMaps.bucketSizeMaps[recursionDepth];
+        int[] startIndexMap = bucketMaps.startIndexMaps[recursionDepth];
+        int[] processedMap  = bucketMaps.processedMaps [recursionDepth];
         
         int sourceToIndex = sourceFromIndex + rangeLength;
+        int firstElement = source[sourceFromIndex];
+        int differingBits = 0;
         
         // Find out the size of each bucket:
         for (int i = sourceFromIndex; 
@@ -542,6 +1497,39 @@ public final class ParallelRadixSort {
             int datum = source[i];
             int bucketIndex = getBucketIndex(datum, recursionDepth);
             bucketSizeMap[bucketIndex]++;
+            differingBits |= datum ^ firstElement;
+        }
+        
+        int firstBucketKey = getBucketIndex(firstElement, recursionDepth);
+        
+        if (bucketSizeMap[firstBucketKey] == rangeLength) {
+            // All the elements fall into the same bucket. Skip scattering and
+            // continue with the next byte that differs:
+            if (differingBits == 0) {
+                // All the elements are equal.
+                if (resultInTarget) {
+                    System.arraycopy(
+                            source,
+                            sourceFromIndex, 
+                            target, 
+                            targetFromIndex, 
+                            rangeLength);
+                }
+            } else {
+                radixSortImpl(
+                        source, 
+                        target, 
+                        sourceFromIndex, 
+                        targetFromIndex, 
+                        rangeLength, 
+                        Integer.numberOfLeadingZeros(differingBits) 
+                                / BITS_PER_BYTE, 
+                        resultInTarget, 
+                        bucketMaps,
+                        sorter);
+            }
+            
+            return;
         }
         
         startIndexMap[0] = targetFromIndex;
@@ -565,56 +1553,144 @@ public final class ParallelRadixSort {
         }
         
         if (recursionDepth == DEEPEST_RECURSION_DEPTH) {
-            System.arraycopy(
-                    target, 
-                    targetFromIndex, 
-                    source, 
-                    sourceFromIndex,
-                    rangeLength);
+            if (!resultInTarget) {
+                System.arraycopy(
+                        target, 
+                        targetFromIndex, 
+                        source, 
+                        sourceFromIndex,
+                        rangeLength);
+            }
             
             return;
         }
         
-        for (int i = 0; i != BUCKETS; i++) {
-            if (bucketSizeMap[i] != 0) {
-                // Sort from 'target' to 'source':
-                radixSortImpl(
-                        target,
-                        source,
-                        startIndexMap[i],
-                        startIndexMap[i] - targetFromIndex + sourceFromIndex,
-                        bucketSizeMap[i],
-                        recursionDepth + 1);
+        SortConfig config = sorter.getConfig();
+        ForkJoinTask<?>[] forkedTasks = null;
+        int forkedTaskCount = 0;
+        boolean forking = ForkJoinTask.getPool() == sorter.getExecutor();
+        
+        // The buckets larger than this are forked. The leaf buckets, sorted
+        // with the mergesort in the loop below, are never forked:
+        int maximumUnforkedBucketSize = 
+                Math.max(config.getMergesortThreshold(), 
+                         MINIMUM_FORKED_BUCKET_SIZE - 1);
+        
+        if (forking) {
+            // Let the idle workers steal the large buckets:
+            for (int i = 0; i != BUCKETS; i++) {
+                if (bucketSizeMap[i] > maximumUnforkedBucketSize) {
+                    if (forkedTasks == null) {
+                        forkedTasks = new ForkJoinTask<?>[BUCKETS];
+                    }
+                    
+                    SorterTask sorterTask = 
+                            new SorterTask(
+                                    target,
+                                    source,
+                                    startIndexMap[i],
+                                    startIndexMap[i] - 
+                                            targetFromIndex + 
+                                            sourceFromIndex,
+                                    bucketSizeMap[i],
+                                    recursionDepth + 1,
+                                    !resultInTarget,
+                                    1);
+                    
+                    forkedTasks[forkedTaskCount++] = 
+                            ForkJoinTask.adapt(
+                                    new Sorter(List.of(sorterTask), sorter))
+                                        .fork();
+                }
+            }
+        }
+        
+        try {
+            for (int i = 0; i != BUCKETS; i++) {
+                if (bucketSizeMap[i] == 0 
+                        || (forking 
+                                && bucketSizeMap[i] 
+                                        > maximumUnforkedBucketSize)) {
+                    // Empty, or sorted by a forked task.
+                    continue;
+                }
+                
+                if (bucketSizeMap[i] <= config.getMergesortThreshold()) {
+                    // A leaf bucket. The result goes to 'target' if 
+                    // 'resultInTarget', and to 'source' otherwise:
+                    mergesort(
+                            target,
+                            source,
+                            startIndexMap[i],
+                            startIndexMap[i] - 
+                                    targetFromIndex + 
+                                    sourceFromIndex,
+                            bucketSizeMap[i],
+                            !resultInTarget,
+                            config.getInsertionSortThreshold());
+                } else {
+                    // Sort from 'target' to 'source':
+                    radixSortImpl(
+                            target,
+                            source,
+                            startIndexMap[i],
+                            startIndexMap[i] - 
+                                    targetFromIndex + 
+                                    sourceFromIndex,
+                            bucketSizeMap[i],
+                            recursionDepth + 1,
+                            !resultInTarget,
+                            bucketMaps,
+                            sorter);
+                }
             }
+        } finally {
+            ExecutorTasks.joinAll(forkedTasks, forkedTaskCount);
         }
     }
     
+    /**
+     * Sorts the range 
+     * {@code source[sourceFromIndex], ..., 
+     * source[sourceFromIndex + rangeLength - 1]} with the bottom-up mergesort,
+     * using the range of the same length in {@code target} as the buffer.
+     * 
+     * @param source          the array holding the range to sort.
+     * @param target          the buffer array.
+     * @param sourceFromIndex the starting index of the range to sort.
+     * @param targetFromIndex the starting index of the buffer range.
+     * @param rangeLength     the length of the range to sort.
+     * @param resultInTarget  whether the sorted range should end up in 
+     *                        {@code target} instead of {@code source}.
+     * @param runLength       the length of the initial, small-sorted runs.
+     */
     private static void mergesort(int[] source,
                                   int[] target,
                                   int sourceFromIndex,
                                   int targetFromIndex,
                                   int rangeLength,
-                                  int recursionDepth) {
+                                  boolean resultInTarget,
+                                  int runLength) {
         
         int offset = sourceFromIndex;
         int[] s = source;
         int[] t = target;
         int sFromIndex = sourceFromIndex;
         int tFromIndex = targetFromIndex;
-        int runs = rangeLength / insertionSortThreshold;
+        int runs = rangeLength / runLength;
         
         for (int i = 0; i != runs; ++i) {
-            insertionSort(source,
+            smallSort(source,
                     offset, 
-                    insertionSortThreshold);
+                    runLength);
             
-            offset += insertionSortThreshold;
+            offset += runLength;
        }
         
-        if (rangeLength % insertionSortThreshold != 0) {
-            // Sort the rightmost run that is smaller than 
-            // INSERTION_SORT_THRESHOLD elements.
-            insertionSort(
+        if (rangeLength % runLength != 0) {
+            // Sort the rightmost run that is smaller than 'runLength' 
+            // elements.
+            smallSort(
                     source, 
                     offset, 
                     sourceFromIndex + rangeLength - offset);
@@ -622,7 +1698,7 @@ public final class ParallelRadixSort {
             runs++;
         }
         
-        int runWidth = insertionSortThreshold;
+        int runWidth = runLength;
         int passes = 0;
         
         while (runs != 1) {
@@ -674,15 +1750,15 @@ public final class ParallelRadixSort {
         
         boolean even = (passes % 2 == 0);
         
-        // Make sure that the entire sorted range ends up in the actual array to
-        // sort:
-        if (recursionDepth % 2 == 1) {
+        // The sorted range is now in 's', which is 'source' after an even 
+        // number of passes. Move it to the requested array:
+        if (resultInTarget) {
             if (even) {
                 System.arraycopy(
-                        t, 
-                        tFromIndex, 
                         s, 
-                        sFromIndex,
+                        sFromIndex, 
+                        t, 
+                        tFromIndex,
                         rangeLength);
             }
         } else if (!even) {
@@ -695,7 +1771,23 @@ public final class ParallelRadixSort {
         } 
     }
     
-    private static void insertionSort(
+    /**
+     * Sorts a short range with a sorting network if possible, and with the 
+     * insertion sort otherwise.
+     * 
+     * @param array       the array holding the range to sort.
+     * @param offset      the starting index of the range to sort.
+     * @param rangeLength the length of the range to sort.
+     */
+    static void smallSort(int[] array, int offset, int rangeLength) {
+        if (rangeLength <= SortingNetwork.MAXIMUM_LENGTH) {
+            SortingNetwork.sort(array, offset, rangeLength);
+        } else {
+            insertionSort(array, offset, rangeLength);
+        }
+    }
+    
+    static void insertionSort(
             int[] array, 
             int offset, 
             int rangeLength) {
@@ -736,10 +1828,15 @@ public final class ParallelRadixSort {
         int rightIndex = leftIndexBound;
         
         while (leftIndex != leftIndexBound && rightIndex != rightIndexBound) {
-            target[targetIndex++] = 
-                    source[leftIndex] < source[rightIndex] ?
-                    source[leftIndex++] :
-                    source[rightIndex++];
+            int left = source[leftIndex];
+            int right = source[rightIndex];
+            
+            // Branchless: 1 if the right element goes first, 0 otherwise.
+            int takeRight = (int) (((long) right - left) >>> 63);
+            
+            target[targetIndex++] = Math.min(left, right);
+            rightIndex += takeRight;
+            leftIndex += 1 - takeRight;
         }
         
         System.arraycopy(
@@ -764,19 +1861,21 @@ public final class ParallelRadixSort {
                   & EXTRACT_BYTE_MASK;
     }
     
-    private static final class BucketSizeCounterThread extends Thread {
+    static final class BucketSizeCounter implements Runnable {
         
-        private final int[] localBucketSizeMap = new int[BUCKETS];
+        private final int[] localBucketSizeMap;
         private final int[] array;
         private final int fromIndex;
         private final int toIndex;
         private final int recursionDepth;
         
-        BucketSizeCounterThread(int[] array,
-                                int fromIndex,
-                                int toIndex,
-                                int recursionDepth) {
+        BucketSizeCounter(int[] localBucketSizeMap,
+                          int[] array,
+                          int fromIndex,
+                          int toIndex,
+                          int recursionDepth) {
             
+            this.localBucketSizeMap = localBucketSizeMap;
             this.array          = array;
             this.fromIndex      = fromIndex;
             this.toIndex        = toIndex;
@@ -785,6 +1884,19 @@ public final class ParallelRadixSort {
         
         @Override
         public void run() {
+            HistogramKernel vectorKernel = HistogramKernel.VECTOR_KERNEL;
+            
+            if (vectorKernel != null) {
+                vectorKernel.countBytes(
+                        array, 
+                        fromIndex, 
+                        toIndex, 
+                        recursionDepth, 
+                        localBucketSizeMap);
+                
+                return;
+            }
+            
             for (int i = fromIndex; i != toIndex; i++) {
                 localBucketSizeMap[getBucketIndex(array[i], recursionDepth)]++;
             }
@@ -795,7 +1907,117 @@ public final class ParallelRadixSort {
         }
     }
     
-    private static final class BucketInserterThread extends Thread {
+    /**
+     * Computes the statistics of a subrange.
+     */
+    static final class RangeScanner implements Runnable {
+        
+        private final int[] array;
+        private final int fromIndex;
+        private final int toIndex;
+        private final int firstElement;
+        int differingBits;
+        int minimum;
+        int maximum;
+        
+        RangeScanner(int[] array,
+                     int fromIndex,
+                     int toIndex,
+                     int firstElement) {
+            this.array = array;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.firstElement = firstElement;
+        }
+        
+        @Override
+        public void run() {
+            int bits = 0;
+            int min = firstElement;
+            int max = firstElement;
+            
+            for (int i = fromIndex; i != toIndex; i++) {
+                int datum = array[i];
+                bits |= datum ^ firstElement;
+                min = Math.min(min, datum);
+                max = Math.max(max, datum);
+            }
+            
+            differingBits = bits;
+            minimum = min;
+            maximum = max;
+        }
+        
+        void merge(RangeScanner other) {
+            differingBits |= other.differingBits;
+            minimum = Math.min(minimum, other.minimum);
+            maximum = Math.max(maximum, other.maximum);
+        }
+    }
+    
+    /**
+     * Counts the bytes at all the recursion depths of a subrange, and finds
+     * its minimum and maximum. The row {@code d} of the histogram holds the 
+     * bucket sizes at the recursion depth {@code d}.
+     */
+    static final class HistogramScanner implements Runnable {
+        
+        private final int[] array;
+        private final int fromIndex;
+        private final int toIndex;
+        final int[] histogram = 
+                new int[(DEEPEST_RECURSION_DEPTH + 1) * BUCKETS];
+        
+        int minimum;
+        int maximum;
+        
+        HistogramScanner(int[] array, int fromIndex, int toIndex) {
+            this.array = array;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+        
+        @Override
+        public void run() {
+            HistogramKernel vectorKernel = HistogramKernel.VECTOR_KERNEL;
+            
+            if (vectorKernel != null) {
+                int[] extremes = new int[2];
+                
+                vectorKernel.countAllBytes(
+                        array, 
+                        fromIndex, 
+                        toIndex, 
+                        histogram, 
+                        extremes);
+                
+                minimum = extremes[0];
+                maximum = extremes[1];
+                return;
+            }
+            
+            int[] histogram = this.histogram;
+            int min = array[fromIndex];
+            int max = min;
+            
+            for (int i = fromIndex; i != toIndex; i++) {
+                int datum = array[i];
+                min = Math.min(min, datum);
+                max = Math.max(max, datum);
+                
+                // Flip the sign bit at the depth 0 as in getBucketIndex:
+                histogram[(datum >>> 24) ^ 0x80]++;
+                histogram[BUCKETS + ((datum >>> 16) & 0xff)]++;
+                histogram[2 * BUCKETS + ((datum >>> 8) & 0xff)]++;
+                histogram[3 * BUCKETS + (datum & 0xff)]++;
+            }
+            
+            minimum = min;
+            maximum = max;
+        }
+    }
+    
+    private static final class BucketInserter implements Runnable {
         
         private final int[] source;
         private final int[] target;
@@ -804,14 +2026,18 @@ public final class ParallelRadixSort {
         private final int[] processedMap;
         private final int rangeLength;
         private final int recursionDepth;
-        
-        BucketInserterThread(int[] source,
-                             int[] target,
-                             int sourceFromIndex,
-                             int[] startIndexMap,
-                             int[] processedMap,
-                             int rangeLength,
-                             int recursionDepth) {
+        private final boolean writeCombining;
+        private final RadixSorter sorter;
+        
+        BucketInserter(int[] source,
+                       int[] target,
+                       int sourceFromIndex,
+                       int[] startIndexMap,
+                       int[] processedMap,
+                       int rangeLength,
+                       int recursionDepth,
+                       boolean writeCombining,
+                       RadixSorter sorter) {
             this.source = source;
             this.target = target;
             this.sourceFromIndex = sourceFromIndex;
@@ -819,12 +2045,35 @@ public final class ParallelRadixSort {
             this.processedMap = processedMap;
             this.rangeLength = rangeLength;
             this.recursionDepth = recursionDepth;
+            this.writeCombining = writeCombining;
+            this.sorter = sorter;
         }
         
         @Override
         public void run() {
             int sourceToIndex = sourceFromIndex + rangeLength;
             
+            if (writeCombining) {
+                WriteCombiningBuffer writeCombiningBuffer = 
+                        sorter.acquireWriteCombiningBuffer(
+                                target, 
+                                startIndexMap, 
+                                processedMap, 
+                                BUCKETS);
+                
+                for (int i = sourceFromIndex; i != sourceToIndex; i++) {
+                    int datum = source[i];
+                    
+                    writeCombiningBuffer.insert(
+                            getBucketIndex(datum, recursionDepth), 
+                            datum);
+                }
+                
+                writeCombiningBuffer.flush();
+                sorter.releaseWriteCombiningBuffer(writeCombiningBuffer);
+                return;
+            }
+            
             for (int i = sourceFromIndex; i != sourceToIndex; i++) {
                 int datum = source[i];
                 int bucketKey = getBucketIndex(datum, recursionDepth);
@@ -835,16 +2084,20 @@ public final class ParallelRadixSort {
         }
     }
     
-    private static final class SorterThread extends Thread {
+    private static final class Sorter implements Runnable {
        
         private final List<SorterTask> sorterTasks;
+        private final RadixSorter sorter;
         
-        SorterThread(List<SorterTask> sorterTasks) {
+        Sorter(List<SorterTask> sorterTasks, RadixSorter sorter) {
             this.sorterTasks = sorterTasks;
+            this.sorter = sorter;
         }
         
         @Override
         public void run() {
+            BucketMaps bucketMaps = null;
+            
             for (SorterTask sorterTask : sorterTasks) {
                 if (sorterTask.threads > 1) {
                     parallelRadixSortImpl(sorterTask.source,
@@ -853,16 +2106,33 @@ public final class ParallelRadixSort {
                                           sorterTask.targetStartOffset,
                                           sorterTask.rangeLength,
                                           sorterTask.recursionDepth,
-                                          sorterTask.threads);
+                                          sorterTask.resultInTarget,
+                                          sorterTask.threads,
+                                          sorter,
+                                          null);
                 } else {
+                    if (bucketMaps == null) {
+                        bucketMaps = 
+                                sorter.acquireBucketMaps(
+                                        DEEPEST_RECURSION_DEPTH + 1,
+                                        BUCKETS);
+                    }
+                    
                     radixSortImpl(sorterTask.source,
                                   sorterTask.target,
                                   sorterTask.sourceStartOffset,
                                   sorterTask.targetStartOffset,
                                   sorterTask.rangeLength,
-                                  sorterTask.recursionDepth);
+                                  sorterTask.recursionDepth,
+                                  sorterTask.resultInTarget,
+                                  bucketMaps,
+                                  sorter);
                 }
             }
+            
+            if (bucketMaps != null) {
+                sorter.releaseBucketMaps(bucketMaps);
+            }
         }
     }
     
@@ -874,6 +2144,7 @@ public final class ParallelRadixSort {
         final int targetStartOffset;
         final int rangeLength;
         final int recursionDepth;
+        final boolean resultInTarget;
         final int threads;
         
         SorterTask(int[] source,
@@ -882,6 +2153,7 @@ public final class ParallelRadixSort {
                    int targetStartOffset,
                    int rangeLength,
                    int recursionDepth,
+                   boolean resultInTarget,
                    int threads) {
             
             this.source = source;
@@ -890,11 +2162,12 @@ public final class ParallelRadixSort {
             this.targetStartOffset = targetStartOffset;
             this.rangeLength = rangeLength;
             this.recursionDepth = recursionDepth;
+            this.resultInTarget = resultInTarget;
             this.threads = threads;
         }
     }
     
-    private static final class BucketKeyList {
+    static final class BucketKeyList {
         private final int[] bucketKeys;
         private int size;
         
@@ -913,31 +2186,5 @@ public final class ParallelRadixSort {
         int size() {
             return size;
         }
-        
-        void shuffle(Random random) {
-            for (int i = 0; i != size - 1; i++) {
-                int j = i + random.nextInt(size - i);
-                int temp = bucketKeys[i];
-                bucketKeys[i] = bucketKeys[j];
-                bucketKeys[j] = temp;
-            }
-        }
-    }
-    
-    private static final class ListOfBucketKeyLists {
-        private final BucketKeyList[] lists;
-        private int size;
-        
-        ListOfBucketKeyLists(int capacity) {
-            this.lists = new BucketKeyList[capacity];
-        }
-        
-        void addBucketKeyList(BucketKeyList bucketKeyList) {
-            this.lists[this.size++] = bucketKeyList;
-        }
-        
-        BucketKeyList getBucketKeyList(int index) {
-            return this.lists[index];
-        }
     }
 }
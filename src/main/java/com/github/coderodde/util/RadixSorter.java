@@ -0,0 +1,573 @@
+package com.github.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class implements a reusable parallel radix sorter. Unlike the static
+ * methods of {@link ParallelRadixSort}, a sorter owns its auxiliary buffer and
+ * its bucket maps, and reuses them over the calls. Sorting repeatedly arrays
+ * of similar sizes with the same sorter does not allocate the large buffers
+ * after the first sort.
+ * <p>
+ * The instances of this class are not thread-safe: a sorter may run only one
+ * sort at a time.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+public final class RadixSorter {
+
+    /**
+     * The initial, empty buffer.
+     */
+    private static final int[] EMPTY_BUFFER = {};
+
+    /**
+     * The initial, empty {@code long} buffer.
+     */
+    private static final long[] EMPTY_LONG_BUFFER = {};
+
+    /**
+     * The executor to run the parallel phases on.
+     */
+    private final Executor executor;
+
+    /**
+     * The configuration of this sorter, or {@code null} for following the
+     * default configuration.
+     */
+    private final SortConfig config;
+
+    /**
+     * The configuration of the sort in progress. If no configuration was 
+     * given, the default configuration is read once at the start of each 
+     * sort, so that a concurrent change of the defaults does not mix two 
+     * configurations within one sort.
+     */
+    private SortConfig sortConfig;
+
+    /**
+     * The bucket maps not in use at the moment.
+     */
+    private final List<BucketMaps> freeBucketMaps = new ArrayList<>();
+
+    /**
+     * The write-combining buffers not in use at the moment.
+     */
+    private final List<WriteCombiningBuffer> freeWriteCombiningBuffers =
+            new ArrayList<>();
+
+    /**
+     * The auxiliary buffer. Grows when needed.
+     */
+    private int[] buffer = EMPTY_BUFFER;
+
+    /**
+     * The auxiliary buffer for sorting {@code long} arrays. Grows when needed.
+     */
+    private long[] longBuffer = EMPTY_LONG_BUFFER;
+
+    /**
+     * The auxiliary buffer for the payloads of the keys. Grows when needed.
+     */
+    private int[] valueBuffer = EMPTY_BUFFER;
+
+    /**
+     * The indices of the keys whose payloads are gathered after sorting.
+     */
+    private int[] indices = EMPTY_BUFFER;
+
+    /**
+     * The keys of the {@code float} values being sorted, or the copied keys
+     * being sorted together with their indices.
+     */
+    private int[] intKeys = EMPTY_BUFFER;
+
+    /**
+     * The keys of the {@code double} values being sorted.
+     */
+    private long[] longKeys = EMPTY_LONG_BUFFER;
+
+    /**
+     * Constructs a sorter running on the common {@link ForkJoinPool}.
+     */
+    public RadixSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a sorter running on {@code executor}.
+     *
+     * @param executor the executor to run the parallel phases on.
+     */
+    public RadixSorter(Executor executor) {
+        this.executor =
+                Objects.requireNonNull(
+                        executor,
+                        "The input executor is null.");
+        this.config = null;
+    }
+
+    /**
+     * Constructs a sorter tuned by {@code config}, running on its executor.
+     *
+     * @param config the configuration of the sorter.
+     */
+    public RadixSorter(SortConfig config) {
+        this.config = 
+                Objects.requireNonNull(
+                        config, 
+                        "The input configuration is null.");
+        this.executor = config.getExecutor();
+        this.sortConfig = config;
+    }
+
+    /**
+     * Sorts the entire input array into non-decreasing order.
+     *
+     * @param array the array to sort.
+     */
+    public void sort(int[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]}.
+     *
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public void sort(int[] array, int fromIndex, int toIndex) {
+        beginSort();
+        ParallelRadixSort.sortImpl(array, fromIndex, toIndex, this);
+    }
+
+    /**
+     * Sorts the entire input array into non-decreasing order.
+     *
+     * @param array the array to sort.
+     */
+    public void sort(long[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]}.
+     *
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public void sort(long[] array, int fromIndex, int toIndex) {
+        beginSort();
+        LongRadixSort.sortImpl(array, fromIndex, toIndex, this);
+    }
+
+    /**
+     * Sorts the entire input array into the order of 
+     * {@link java.util.Arrays#sort(float[])}.
+     *
+     * @param array the array to sort.
+     */
+    public void sort(float[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]} into
+     * the order of {@link java.util.Arrays#sort(float[])}. The NaN values are
+     * canonicalized.
+     *
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public void sort(float[] array, int fromIndex, int toIndex) {
+        beginSort();
+        FloatingPointRadixSort.sortImpl(array, fromIndex, toIndex, this);
+    }
+
+    /**
+     * Sorts the entire input array into the order of 
+     * {@link java.util.Arrays#sort(double[])}.
+     *
+     * @param array the array to sort.
+     */
+    public void sort(double[] array) {
+        sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]} into
+     * the order of {@link java.util.Arrays#sort(double[])}. The NaN values are
+     * canonicalized.
+     *
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public void sort(double[] array, int fromIndex, int toIndex) {
+        beginSort();
+        FloatingPointRadixSort.sortImpl(array, fromIndex, toIndex, this);
+    }
+
+    /**
+     * Sorts the entire {@code keys} array into non-decreasing order and 
+     * applies the same permutation to {@code values}. The sort is stable.
+     *
+     * @param keys   the keys to sort.
+     * @param values the payloads of the keys.
+     * @throws IllegalArgumentException if the arrays are of different length.
+     */
+    public void sort(int[] keys, int[] values) {
+        ParallelRadixSort.lengthCheck(keys.length, values.length);
+        sort(keys, values, 0, keys.length);
+    }
+
+    /**
+     * Sorts the range {@code keys[fromIndex], ..., keys[toIndex - 1]} and
+     * applies the same permutation to 
+     * {@code values[fromIndex], ..., values[toIndex - 1]}. The sort is stable.
+     *
+     * @param keys      the array holding the keys to sort.
+     * @param values    the array holding the payloads of the keys.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public void sort(int[] keys, int[] values, int fromIndex, int toIndex) {
+        beginSort();
+        KeyValueRadixSort.sortImpl(keys, values, fromIndex, toIndex, this);
+    }
+
+    /**
+     * Sorts the entire {@code keys} array into non-decreasing order and 
+     * applies the same permutation to {@code values}. The sort is stable.
+     *
+     * @param keys   the keys to sort.
+     * @param values the payloads of the keys.
+     * @throws IllegalArgumentException if the arrays are of different length.
+     */
+    public void sort(int[] keys, long[] values) {
+        ParallelRadixSort.lengthCheck(keys.length, values.length);
+        sort(keys, values, 0, keys.length);
+    }
+
+    /**
+     * Sorts the range {@code keys[fromIndex], ..., keys[toIndex - 1]} and
+     * applies the same permutation to 
+     * {@code values[fromIndex], ..., values[toIndex - 1]}. The sort is stable.
+     *
+     * @param keys      the array holding the keys to sort.
+     * @param values    the array holding the payloads of the keys.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public void sort(int[] keys, long[] values, int fromIndex, int toIndex) {
+        beginSort();
+        KeyValueRadixSort.sortImpl(keys, values, fromIndex, toIndex, this);
+    }
+
+    /**
+     * Returns the stable permutation that sorts {@code array} without
+     * modifying {@code array}.
+     *
+     * @param array the array to sort by.
+     * @return the array {@code indices} such that
+     *         {@code array[indices[0]], array[indices[1]], ...} is sorted.
+     */
+    public int[] argSort(int[] array) {
+        beginSort();
+        return KeyValueRadixSort.argSortImpl(array, this);
+    }
+
+    /**
+     * Sorts the entire input array into non-decreasing order without using the
+     * auxiliary buffer.
+     *
+     * @param array the array to sort.
+     */
+    public void sortInPlace(int[] array) {
+        sortInPlace(array, 0, array.length);
+    }
+
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]}
+     * without using the auxiliary buffer. The extra space is proportional to
+     * the number of threads times the number of buckets.
+     *
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
+    public void sortInPlace(int[] array, int fromIndex, int toIndex) {
+        beginSort();
+        InPlaceRadixSort.sortImpl(array, fromIndex, toIndex, this);
+    }
+
+    /**
+     * Drops the auxiliary buffer, the bucket maps and the write-combining 
+     * buffers so that they may be garbage collected. The next sort allocates
+     * them again.
+     */
+    public void releaseBuffers() {
+        buffer = EMPTY_BUFFER;
+        longBuffer = EMPTY_LONG_BUFFER;
+        valueBuffer = EMPTY_BUFFER;
+        indices = EMPTY_BUFFER;
+        intKeys = EMPTY_BUFFER;
+        longKeys = EMPTY_LONG_BUFFER;
+
+        synchronized (freeBucketMaps) {
+            freeBucketMaps.clear();
+        }
+
+        synchronized (freeWriteCombiningBuffers) {
+            freeWriteCombiningBuffers.clear();
+        }
+    }
+
+    Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns the configuration of the sort in progress.
+     *
+     * @return the configuration.
+     */
+    SortConfig getConfig() {
+        return sortConfig;
+    }
+
+    /**
+     * Takes the snapshot of the default configuration if this sorter follows
+     * the defaults.
+     */
+    private void beginSort() {
+        if (config == null) {
+            sortConfig = ParallelRadixSort.defaultConfig;
+        }
+    }
+
+    /**
+     * Returns the maximum number of parallel tasks per phase.
+     *
+     * @return the parallelism.
+     */
+    int getParallelism() {
+        int parallelism = getConfig().getParallelism();
+
+        return parallelism == 0 ?
+               ParallelRadixSort.getParallelism(executor) :
+               parallelism;
+    }
+
+    /**
+     * Returns a buffer of at least {@code length} elements. The buffer grows
+     * geometrically so that slightly growing inputs do not reallocate it on
+     * each call.
+     *
+     * @param length the minimum length of the buffer.
+     * @return the buffer.
+     */
+    int[] getBuffer(int length) {
+        if (buffer.length < length) {
+            buffer = new int[getNewBufferLength(buffer.length, length)];
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Returns a {@code long} buffer of at least {@code length} elements.
+     *
+     * @param length the minimum length of the buffer.
+     * @return the buffer.
+     */
+    long[] getLongBuffer(int length) {
+        if (longBuffer.length < length) {
+            longBuffer = new long[getNewBufferLength(longBuffer.length,
+                                                     length)];
+        }
+
+        return longBuffer;
+    }
+
+    /**
+     * Returns a buffer of at least {@code length} elements for the payloads.
+     *
+     * @param length the minimum length of the buffer.
+     * @return the buffer.
+     */
+    int[] getValueBuffer(int length) {
+        if (valueBuffer.length < length) {
+            valueBuffer = new int[getNewBufferLength(valueBuffer.length,
+                                                     length)];
+        }
+
+        return valueBuffer;
+    }
+
+    /**
+     * Returns an array of at least {@code length} elements for the indices.
+     *
+     * @param length the minimum length of the array.
+     * @return the index array.
+     */
+    int[] getIndices(int length) {
+        if (indices.length < length) {
+            indices = new int[getNewBufferLength(indices.length, length)];
+        }
+
+        return indices;
+    }
+
+    /**
+     * Returns an array of at least {@code length} elements for the keys of the
+     * {@code float} values or for the copied keys.
+     *
+     * @param length the minimum length of the array.
+     * @return the key array.
+     */
+    int[] getIntKeys(int length) {
+        if (intKeys.length < length) {
+            intKeys = new int[getNewBufferLength(intKeys.length, length)];
+        }
+
+        return intKeys;
+    }
+
+    /**
+     * Returns an array of at least {@code length} elements for the keys of the
+     * {@code double} values.
+     *
+     * @param length the minimum length of the array.
+     * @return the key array.
+     */
+    long[] getLongKeys(int length) {
+        if (longKeys.length < length) {
+            longKeys = new long[getNewBufferLength(longKeys.length, length)];
+        }
+
+        return longKeys;
+    }
+
+    private static int getNewBufferLength(int currentLength, int length) {
+        long newLength = Math.max(length, currentLength +
+                                          (currentLength >> 1));
+
+        return (int) Math.min(newLength, Integer.MAX_VALUE - 8);
+    }
+
+    /**
+     * Returns a free bucket maps object with at least {@code rows} rows.
+     * Called concurrently by the parallel tasks.
+     *
+     * @param rows    the minimum number of rows.
+     * @param buckets the number of buckets per row.
+     * @return bucket maps.
+     */
+    BucketMaps acquireBucketMaps(int rows, int buckets) {
+        synchronized (freeBucketMaps) {
+            for (int i = freeBucketMaps.size() - 1; i >= 0; i--) {
+                BucketMaps bucketMaps = freeBucketMaps.get(i);
+
+                if (bucketMaps.getRows() >= rows
+                        && bucketMaps.globalBucketSizeMap.length == buckets) {
+                    // Swap with the last and remove in constant time:
+                    int lastIndex = freeBucketMaps.size() - 1;
+                    freeBucketMaps.set(i, freeBucketMaps.get(lastIndex));
+                    freeBucketMaps.remove(lastIndex);
+                    return bucketMaps;
+                }
+            }
+        }
+
+        return new BucketMaps(rows, buckets);
+    }
+
+    /**
+     * Returns {@code bucketMaps} for reuse.
+     *
+     * @param bucketMaps the bucket maps no longer in use.
+     */
+    void releaseBucketMaps(BucketMaps bucketMaps) {
+        synchronized (freeBucketMaps) {
+            freeBucketMaps.add(bucketMaps);
+        }
+    }
+
+    int getFreeBucketMapsCount() {
+        synchronized (freeBucketMaps) {
+            return freeBucketMaps.size();
+        }
+    }
+
+    /**
+     * Returns a free write-combining buffer of {@code buckets} buckets 
+     * attached to the scatter into {@code target}. Called concurrently by the
+     * parallel tasks.
+     *
+     * @param target        the array to scatter into.
+     * @param startIndexMap the starting indices of the buckets.
+     * @param processedMap  the numbers of elements already in the buckets.
+     * @param buckets       the number of buckets.
+     * @return the write-combining buffer.
+     */
+    WriteCombiningBuffer acquireWriteCombiningBuffer(int[] target,
+                                                     int[] startIndexMap,
+                                                     int[] processedMap,
+                                                     int buckets) {
+        WriteCombiningBuffer writeCombiningBuffer = null;
+
+        synchronized (freeWriteCombiningBuffers) {
+            for (int i = freeWriteCombiningBuffers.size() - 1; i >= 0; i--) {
+                if (freeWriteCombiningBuffers.get(i).getBuckets() 
+                        == buckets) {
+                    // Swap with the last and remove in constant time:
+                    int lastIndex = freeWriteCombiningBuffers.size() - 1;
+                    writeCombiningBuffer = freeWriteCombiningBuffers.get(i);
+                    freeWriteCombiningBuffers.set(
+                            i,
+                            freeWriteCombiningBuffers.get(lastIndex));
+                    freeWriteCombiningBuffers.remove(lastIndex);
+                    break;
+                }
+            }
+        }
+
+        if (writeCombiningBuffer == null) {
+            writeCombiningBuffer = new WriteCombiningBuffer(buckets);
+        }
+
+        writeCombiningBuffer.attach(target, startIndexMap, processedMap);
+        return writeCombiningBuffer;
+    }
+
+    /**
+     * Returns the flushed {@code writeCombiningBuffer} for reuse. It no longer
+     * refers to the arrays of the sort.
+     *
+     * @param writeCombiningBuffer the write-combining buffer no longer in use.
+     */
+    void releaseWriteCombiningBuffer(
+            WriteCombiningBuffer writeCombiningBuffer) {
+        writeCombiningBuffer.attach(null, null, null);
+
+        synchronized (freeWriteCombiningBuffers) {
+            freeWriteCombiningBuffers.add(writeCombiningBuffer);
+        }
+    }
+
+    int getFreeWriteCombiningBuffersCount() {
+        synchronized (freeWriteCombiningBuffers) {
+            return freeWriteCombiningBuffers.size();
+        }
+    }
+}
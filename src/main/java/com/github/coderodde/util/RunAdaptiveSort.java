@@ -0,0 +1,366 @@
+package com.github.coderodde.util;
+
+import java.util.concurrent.Executor;
+
+/**
+ * This class implements the fast paths for the presorted ranges. A parallel 
+ * pre-scan looks for the descents ({@code array[i] > array[i + 1]}) and the 
+ * ascents of the range. A range without descents is already sorted, a range 
+ * without ascents is reversed in parallel, and a range of at most
+ * {@link #MAXIMUM_RUNS} non-decreasing runs is sorted by merging the runs
+ * pairwise in parallel. Each thread stops scanning as soon as its subrange 
+ * has both an ascent and too many descents, so that a range fitting none of
+ * the cases costs only a few comparisons per thread.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class RunAdaptiveSort {
+
+    /**
+     * The maximum number of runs merged instead of radix sorting.
+     */
+    static final int MAXIMUM_RUNS = 8;
+
+    private RunAdaptiveSort() {
+
+    }
+
+    /**
+     * Sorts the range 
+     * {@code array[fromIndex], ..., array[fromIndex + rangeLength - 1]} if it
+     * is sorted, reversed or consists of a few runs.
+     *
+     * @param array       the array holding the range to sort.
+     * @param buffer      the buffer of length at least {@code rangeLength}.
+     * @param fromIndex   the starting index of the range to sort.
+     * @param rangeLength the length of the range to sort.
+     * @param threads     the number of threads to use.
+     * @param sorter      the sorter providing the executor and the 
+     *                    configuration.
+     * @return {@code true} if the range is sorted, {@code false} if it needs
+     *         the radix sort.
+     */
+    static boolean trySort(int[] array,
+                           int[] buffer,
+                           int fromIndex,
+                           int rangeLength,
+                           int threads,
+                           RadixSorter sorter) {
+
+        Executor executor = sorter.getExecutor();
+
+        RunScanner[] runScanners = new RunScanner[threads];
+
+        // Each subrange but the last also checks the pair crossing into the
+        // next subrange:
+        ExecutorTasks.splitRange(
+                runScanners,
+                rangeLength,
+                (from, to) -> new RunScanner(
+                        array,
+                        fromIndex + from,
+                        fromIndex + Math.min(to + 1, rangeLength)));
+
+        ExecutorTasks.invokeAll(executor, runScanners);
+
+        int descents = 0;
+        int ascents = 0;
+
+        for (RunScanner runScanner : runScanners) {
+            descents += runScanner.descents;
+            ascents += runScanner.ascents;
+        }
+
+        if (descents == 0) {
+            // Already sorted.
+            return true;
+        }
+
+        if (ascents == 0) {
+            reverse(array, fromIndex, rangeLength, threads, executor);
+            return true;
+        }
+
+        if (descents >= MAXIMUM_RUNS) {
+            return false;
+        }
+
+        // 'runStarts' holds the run boundaries, including the range ends:
+        int[] runStarts = new int[descents + 2];
+        int runs = 0;
+        runStarts[runs++] = fromIndex;
+
+        for (RunScanner runScanner : runScanners) {
+            for (int i = 0; i != runScanner.descents; i++) {
+                runStarts[runs++] = runScanner.runStarts[i];
+            }
+        }
+
+        runStarts[runs] = fromIndex + rangeLength;
+        mergeRuns(array, 
+                  buffer, 
+                  fromIndex, 
+                  runStarts, 
+                  runs, 
+                  threads, 
+                  executor,
+                  sorter.getConfig().getMinimumThreadWorkload());
+        return true;
+    }
+
+    private static void reverse(int[] array,
+                                int fromIndex,
+                                int rangeLength,
+                                int threads,
+                                Executor executor) {
+
+        Runnable[] tasks = new Runnable[threads];
+        int toIndex = fromIndex + rangeLength - 1;
+
+        ExecutorTasks.splitRange(tasks, rangeLength / 2, (from, to) -> () -> {
+            for (int i = from; i != to; i++) {
+                int tmp = array[fromIndex + i];
+                array[fromIndex + i] = array[toIndex - i];
+                array[toIndex - i] = tmp;
+            }
+        });
+
+        ExecutorTasks.invokeAll(executor, tasks);
+    }
+
+    /**
+     * Merges the runs pairwise, round after round, between the array and the
+     * buffer until one run remains. 
+     */
+    private static void mergeRuns(int[] array,
+                                  int[] buffer,
+                                  int fromIndex,
+                                  int[] runStarts,
+                                  int runs,
+                                  int threads,
+                                  Executor executor,
+                                  int minimumThreadWorkload) {
+
+        int[] source = array;
+        int[] target = buffer;
+        int sourceFromIndex = fromIndex;
+        int targetFromIndex = 0;
+
+        while (runs > 1) {
+            int mergedRuns = 0;
+
+            for (int run = 0; run < runs; run += 2) {
+                int leftIndex = runStarts[run];
+                int targetIndex = leftIndex - sourceFromIndex 
+                                            + targetFromIndex;
+
+                if (run == runs - 1) {
+                    // Move a lonely, leftover run to the target array:
+                    ExecutorTasks.parallelCopy(
+                            source, 
+                            leftIndex, 
+                            target, 
+                            targetIndex, 
+                            runStarts[run + 1] - leftIndex, 
+                            threads, 
+                            executor);
+                } else {
+                    parallelMerge(source,
+                                  target,
+                                  leftIndex,
+                                  runStarts[run + 1],
+                                  runStarts[run + 2],
+                                  targetIndex,
+                                  threads,
+                                  executor,
+                                  minimumThreadWorkload);
+                }
+
+                runStarts[mergedRuns++] = targetIndex;
+            }
+
+            runStarts[mergedRuns] = runStarts[runs] - sourceFromIndex 
+                                                    + targetFromIndex;
+            runs = mergedRuns;
+
+            int[] tmp = source;
+            source = target;
+            target = tmp;
+
+            int tmpFromIndex = sourceFromIndex;
+            sourceFromIndex = targetFromIndex;
+            targetFromIndex = tmpFromIndex;
+        }
+
+        if (source != array) {
+            ExecutorTasks.parallelCopy(
+                    buffer,
+                    0,
+                    array,
+                    fromIndex,
+                    runStarts[1] - runStarts[0],
+                    threads,
+                    executor);
+        }
+    }
+
+    /**
+     * Merges the adjacent runs 
+     * {@code source[leftIndex], ..., source[leftIndexBound - 1]} and
+     * {@code source[leftIndexBound], ..., source[rightIndexBound - 1]} into
+     * {@code target} starting at {@code targetIndex}. The output is split 
+     * into chunks of equal length, and the split point of each chunk in both
+     * runs is found by a binary search.
+     */
+    private static void parallelMerge(int[] source,
+                                      int[] target,
+                                      int leftIndex,
+                                      int leftIndexBound,
+                                      int rightIndexBound,
+                                      int targetIndex,
+                                      int threads,
+                                      Executor executor,
+                                      int minimumThreadWorkload) {
+
+        int leftLength = leftIndexBound - leftIndex;
+        int rightLength = rightIndexBound - leftIndexBound;
+        int mergeLength = leftLength + rightLength;
+        int chunks = 
+                Math.max(1, 
+                         Math.min(threads, 
+                                  mergeLength / minimumThreadWorkload));
+
+        Runnable[] tasks = new Runnable[chunks];
+
+        ExecutorTasks.splitRange(tasks, mergeLength, (from, to) -> () -> {
+            int leftFrom = coRank(source, 
+                                  leftIndex, 
+                                  leftLength, 
+                                  leftIndexBound, 
+                                  rightLength, 
+                                  from);
+
+            int leftTo = coRank(source, 
+                                leftIndex, 
+                                leftLength, 
+                                leftIndexBound, 
+                                rightLength, 
+                                to);
+
+            merge(source,
+                  target,
+                  leftIndex + leftFrom,
+                  leftIndex + leftTo,
+                  leftIndexBound + from - leftFrom,
+                  leftIndexBound + to - leftTo,
+                  targetIndex + from);
+        });
+
+        ExecutorTasks.invokeAll(executor, tasks);
+    }
+
+    /**
+     * Returns the number of the elements of the left run among the first 
+     * {@code k} elements of the merged run.
+     */
+    private static int coRank(int[] source,
+                              int leftIndex,
+                              int leftLength,
+                              int rightIndex,
+                              int rightLength,
+                              int k) {
+
+        int low = Math.max(0, k - rightLength);
+        int high = Math.min(k, leftLength);
+
+        while (low < high) {
+            int i = (low + high) >>> 1;
+
+            if (source[leftIndex + i] < source[rightIndex + k - i - 1]) {
+                low = i + 1;
+            } else {
+                high = i;
+            }
+        }
+
+        return low;
+    }
+
+    private static void merge(int[] source,
+                              int[] target,
+                              int leftIndex,
+                              int leftIndexBound,
+                              int rightIndex,
+                              int rightIndexBound,
+                              int targetIndex) {
+
+        while (leftIndex != leftIndexBound && rightIndex != rightIndexBound) {
+            int left = source[leftIndex];
+            int right = source[rightIndex];
+
+            // Branchless: 1 if the right element goes first, 0 otherwise.
+            int takeRight = (int) (((long) right - left) >>> 63);
+
+            target[targetIndex++] = Math.min(left, right);
+            rightIndex += takeRight;
+            leftIndex += 1 - takeRight;
+        }
+
+        System.arraycopy(source,
+                         leftIndex,
+                         target,
+                         targetIndex,
+                         leftIndexBound - leftIndex);
+
+        System.arraycopy(source,
+                         rightIndex,
+                         target,
+                         targetIndex + leftIndexBound - leftIndex,
+                         rightIndexBound - rightIndex);
+    }
+
+    private static final class RunScanner implements Runnable {
+
+        private final int[] array;
+        private final int fromIndex;
+        private final int toIndex;
+        final int[] runStarts = new int[MAXIMUM_RUNS];
+        int descents;
+        int ascents;
+
+        RunScanner(int[] array, int fromIndex, int toIndex) {
+            this.array = array;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public void run() {
+            for (int i = fromIndex + 1; i < toIndex; i++) {
+                int previous = array[i - 1];
+                int current = array[i];
+
+                if (previous > current) {
+                    if (descents == MAXIMUM_RUNS) {
+                        if (ascents != 0) {
+                            // Neither reversed nor a few runs.
+                            return;
+                        }
+                    } else {
+                        runStarts[descents] = i;
+                    }
+
+                    descents = Math.min(descents + 1, MAXIMUM_RUNS);
+                } else if (previous < current) {
+                    ascents++;
+
+                    if (descents == MAXIMUM_RUNS) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
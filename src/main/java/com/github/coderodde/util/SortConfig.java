@@ -0,0 +1,373 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class holds an immutable tuning of the sort: the thresholds, the 
+ * parallelism, the strategy, the digit width and the executor. A configuration
+ * is passed to a single sort or to a {@link RadixSorter}, so that differently
+ * tuned sorts may run concurrently in the same JVM. Each {@code with} method 
+ * returns a copy with one setting changed:
+ * <pre>{@code
+ * SortConfig batch = SortConfig.getDefault()
+ *                              .withParallelism(16)
+ *                              .withSortMode(SortMode.LSD);
+ * ParallelRadixSort.parallelSort(array, batch);
+ * }</pre>
+ * The sorts not given a configuration use the default one, changed by the 
+ * static setters of {@link ParallelRadixSort}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+public final class SortConfig {
+
+    /**
+     * The configuration with all the default settings.
+     */
+    static final SortConfig INITIAL = 
+            new SortConfig(ParallelRadixSort.DEFAULT_INSERTION_SORT_THRESHOLD,
+                           ParallelRadixSort.DEFAULT_MERGESORT_THRESHOLD,
+                           ParallelRadixSort.DEFAULT_THREAD_THRESHOLD,
+                           0,
+                           0,
+                           SortMode.AUTOMATIC,
+                           ParallelRadixSort
+                                   .DEFAULT_WRITE_COMBINING_THRESHOLD,
+                           null,
+                           false);
+
+    private final int insertionSortThreshold;
+    private final int mergesortThreshold;
+    private final int minimumThreadWorkload;
+    private final int parallelism;
+    private final int radixBits;
+    private final SortMode sortMode;
+    private final int writeCombiningThreshold;
+    private final Executor executor;
+    private final boolean virtualThreads;
+
+    private SortConfig(int insertionSortThreshold,
+                       int mergesortThreshold,
+                       int minimumThreadWorkload,
+                       int parallelism,
+                       int radixBits,
+                       SortMode sortMode,
+                       int writeCombiningThreshold,
+                       Executor executor,
+                       boolean virtualThreads) {
+        this.insertionSortThreshold = insertionSortThreshold;
+        this.mergesortThreshold = mergesortThreshold;
+        this.minimumThreadWorkload = minimumThreadWorkload;
+        this.parallelism = parallelism;
+        this.radixBits = radixBits;
+        this.sortMode = sortMode;
+        this.writeCombiningThreshold = writeCombiningThreshold;
+        this.executor = executor;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Returns the current default configuration.
+     *
+     * @return the default configuration.
+     */
+    public static SortConfig getDefault() {
+        return ParallelRadixSort.defaultConfig;
+    }
+
+    /**
+     * Returns the maximum length of the ranges sorted with the sorting 
+     * networks or the insertion sort.
+     *
+     * @return the insertion sort threshold.
+     */
+    public int getInsertionSortThreshold() {
+        return insertionSortThreshold;
+    }
+
+    /**
+     * Returns the maximum length of the ranges sorted with the mergesort.
+     *
+     * @return the mergesort threshold.
+     */
+    public int getMergesortThreshold() {
+        return mergesortThreshold;
+    }
+
+    /**
+     * Returns the minimum number of elements per thread.
+     *
+     * @return the minimum thread workload.
+     */
+    public int getMinimumThreadWorkload() {
+        return minimumThreadWorkload;
+    }
+
+    /**
+     * Returns the maximum number of parallel tasks per phase, or zero if it
+     * is determined by the executor.
+     *
+     * @return the parallelism.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns the digit width of the LSD radix sort, or zero if it is chosen
+     * from the range size.
+     *
+     * @return the digit width in bits.
+     */
+    public int getRadixBits() {
+        return radixBits;
+    }
+
+    /**
+     * Returns the strategy for sorting the large {@code int} ranges.
+     *
+     * @return the sort mode.
+     */
+    public SortMode getSortMode() {
+        return sortMode;
+    }
+
+    /**
+     * Returns the minimum length of a range scattered in parallel through the
+     * write-combining buffers.
+     *
+     * @return the write-combining threshold.
+     */
+    public int getWriteCombiningThreshold() {
+        return writeCombiningThreshold;
+    }
+
+    /**
+     * Returns the executor to run the parallel phases on. Unless set, the
+     * common {@link ForkJoinPool}.
+     *
+     * @return the executor.
+     */
+    public Executor getExecutor() {
+        return executor == null ? ForkJoinPool.commonPool() : executor;
+    }
+
+    /**
+     * Returns whether the buckets of the parallel {@code int} sorts are
+     * recurred into on virtual threads.
+     *
+     * @return {@code true} if the virtual threads are used.
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Returns a copy with the insertion sort threshold set. The ranges of at
+     * most this many elements, including the initial runs of the mergesort,
+     * are sorted with the branchless sorting networks if the threshold is at
+     * most 16, and with the insertion sort otherwise.
+     *
+     * @param newInsertionSortThreshold the new insertion sort threshold.
+     * @return the new configuration.
+     */
+    public SortConfig withInsertionSortThreshold(
+            int newInsertionSortThreshold) {
+        return new SortConfig(
+                Math.max(newInsertionSortThreshold,
+                         ParallelRadixSort.MINIMUM_INSERTION_SORT_THRESHOLD),
+                mergesortThreshold,
+                minimumThreadWorkload,
+                parallelism,
+                radixBits,
+                sortMode,
+                writeCombiningThreshold,
+                executor,
+                virtualThreads);
+    }
+
+    /**
+     * Returns a copy with the mergesort threshold set.
+     *
+     * @param newMergesortThreshold the new mergesort threshold.
+     * @return the new configuration.
+     */
+    public SortConfig withMergesortThreshold(int newMergesortThreshold) {
+        return new SortConfig(
+                insertionSortThreshold,
+                Math.max(newMergesortThreshold,
+                         ParallelRadixSort.MINIMUM_MERGESORT_THRESHOLD),
+                minimumThreadWorkload,
+                parallelism,
+                radixBits,
+                sortMode,
+                writeCombiningThreshold,
+                executor,
+                virtualThreads);
+    }
+
+    /**
+     * Returns a copy with the minimum thread workload set.
+     *
+     * @param newMinimumThreadWorkload the new minimum thread workload.
+     * @return the new configuration.
+     */
+    public SortConfig withMinimumThreadWorkload(int newMinimumThreadWorkload) {
+        return new SortConfig(
+                insertionSortThreshold,
+                mergesortThreshold,
+                Math.max(newMinimumThreadWorkload,
+                         ParallelRadixSort.MINIMUM_THREAD_WORKLOAD),
+                parallelism,
+                radixBits,
+                sortMode,
+                writeCombiningThreshold,
+                executor,
+                virtualThreads);
+    }
+
+    /**
+     * Returns a copy with the maximum number of parallel tasks per phase set.
+     * The parallelism of zero is determined by the executor.
+     *
+     * @param newParallelism the new parallelism.
+     * @return the new configuration.
+     * @throws IllegalArgumentException if the parallelism is negative.
+     */
+    public SortConfig withParallelism(int newParallelism) {
+        if (newParallelism < 0) {
+            throw new IllegalArgumentException(
+                    "Negative parallelism: " + newParallelism);
+        }
+
+        return new SortConfig(
+                insertionSortThreshold,
+                mergesortThreshold,
+                minimumThreadWorkload,
+                newParallelism,
+                radixBits,
+                sortMode,
+                writeCombiningThreshold,
+                executor,
+                virtualThreads);
+    }
+
+    /**
+     * Returns a copy with the digit width of the LSD radix sort set. The 
+     * width of zero chooses the width from the range size: the wider digits
+     * need fewer passes, but larger histograms.
+     *
+     * @param newRadixBits the new digit width, one of 0, 8, 11 and 16.
+     * @return the new configuration.
+     * @throws IllegalArgumentException if the width is not supported.
+     */
+    public SortConfig withRadixBits(int newRadixBits) {
+        if (newRadixBits != 0 
+                && Arrays.binarySearch(LsdRadixSort.RADIX_BITS, 
+                                       newRadixBits) < 0) {
+            throw new IllegalArgumentException(
+                    "Unsupported digit width: " + newRadixBits);
+        }
+
+        return new SortConfig(
+                insertionSortThreshold,
+                mergesortThreshold,
+                minimumThreadWorkload,
+                parallelism,
+                newRadixBits,
+                sortMode,
+                writeCombiningThreshold,
+                executor,
+                virtualThreads);
+    }
+
+    /**
+     * Returns a copy with the strategy for sorting the large {@code int} 
+     * ranges set.
+     *
+     * @param newSortMode the new sort mode.
+     * @return the new configuration.
+     */
+    public SortConfig withSortMode(SortMode newSortMode) {
+        return new SortConfig(
+                insertionSortThreshold,
+                mergesortThreshold,
+                minimumThreadWorkload,
+                parallelism,
+                radixBits,
+                Objects.requireNonNull(newSortMode, "newSortMode"),
+                writeCombiningThreshold,
+                executor,
+                virtualThreads);
+    }
+
+    /**
+     * Returns a copy with the minimum length of a range scattered in parallel
+     * through the write-combining buffers set. The shorter ranges are 
+     * scattered directly into the buckets.
+     *
+     * @param newWriteCombiningThreshold the new write-combining threshold.
+     * @return the new configuration.
+     */
+    public SortConfig withWriteCombiningThreshold(
+            int newWriteCombiningThreshold) {
+        return new SortConfig(
+                insertionSortThreshold,
+                mergesortThreshold,
+                minimumThreadWorkload,
+                parallelism,
+                radixBits,
+                sortMode,
+                newWriteCombiningThreshold,
+                executor,
+                virtualThreads);
+    }
+
+    /**
+     * Returns a copy with the executor set.
+     *
+     * @param newExecutor the new executor.
+     * @return the new configuration.
+     */
+    public SortConfig withExecutor(Executor newExecutor) {
+        return new SortConfig(
+                insertionSortThreshold,
+                mergesortThreshold,
+                minimumThreadWorkload,
+                parallelism,
+                radixBits,
+                sortMode,
+                writeCombiningThreshold,
+                Objects.requireNonNull(newExecutor, "newExecutor"),
+                virtualThreads);
+    }
+
+    /**
+     * Returns a copy with the virtual threads turned on or off. When on, the
+     * parallel {@code int} sorts recur into each non-empty bucket on a 
+     * virtual thread of its own and let the scheduler of the virtual threads
+     * balance the buckets, instead of grouping the buckets by their sizes. 
+     * The counting and scattering phases still run on the executor. On the 
+     * JVMs without the virtual threads the setting has no effect.
+     *
+     * @param newVirtualThreads whether to use the virtual threads.
+     * @return the new configuration.
+     */
+    public SortConfig withVirtualThreads(boolean newVirtualThreads) {
+        return new SortConfig(
+                insertionSortThreshold,
+                mergesortThreshold,
+                minimumThreadWorkload,
+                parallelism,
+                radixBits,
+                sortMode,
+                writeCombiningThreshold,
+                executor,
+                newVirtualThreads);
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.coderodde.util;
+
+/**
+ * The strategies for sorting the large {@code int} ranges.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+public enum SortMode {
+
+    /**
+     * Chooses between {@link #MSD} and {@link #LSD} from the histogram of the
+     * range.
+     */
+    AUTOMATIC,
+
+    /**
+     * The most significant digit first radix sort. Recurses into the buckets,
+     * and finishes the small buckets with the mergesort and the insertion
+     * sort.
+     */
+    MSD,
+
+    /**
+     * The least significant digit first radix sort. Makes a stable pass over
+     * the whole range for each byte that is not the same in all the elements.
+     * Each pass splits the work evenly over the threads regardless of the
+     * distribution of the keys.
+     */
+    LSD;
+}
@@ -0,0 +1,97 @@
+package com.github.coderodde.util;
+
+/**
+ * This class implements the branchless sorting of tiny ranges with a sorting
+ * network. Each comparator writes the minimum and the maximum of its two 
+ * elements back with {@code Math.min} and {@code Math.max}, which compile to
+ * conditional moves, so the running time does not depend on the order of the
+ * data and nothing is mispredicted. 
+ * <p>
+ * The network for 16 elements is the 60-comparator network of Green, the 
+ * smallest known. The network for fewer elements is obtained by dropping the
+ * comparators touching the missing elements, which is correct since the 
+ * missing elements may be thought of as the infinities that no comparator 
+ * moves.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class SortingNetwork {
+
+    /**
+     * The maximum length of a range sorted by a network.
+     */
+    static final int MAXIMUM_LENGTH = 16;
+
+    /**
+     * The comparators of the network for 16 elements, two indices each.
+     */
+    private static final int[] COMPARATORS = {
+        0, 13,   1, 12,   2, 15,   3, 14,   4,  8,   5,  6,   7, 11,   9, 10,
+        0,  5,   1,  7,   2,  9,   3,  4,   6, 13,   8, 14,  10, 15,  11, 12,
+        0,  1,   2,  3,   4,  5,   6,  8,   7,  9,  10, 11,  12, 13,  14, 15,
+        0,  2,   1,  3,   4, 10,   5, 11,   6,  7,   8,  9,  12, 14,  13, 15,
+        1,  2,   3, 12,   4,  6,   5,  7,   8, 10,   9, 11,  13, 14,
+        1,  4,   2,  6,   5,  8,   7, 10,   9, 13,  11, 14,
+        2,  4,   3,  6,   9, 12,  11, 13,
+        3,  5,   6,  8,   7,  9,  10, 12,
+        3,  4,   5,  6,   7,  8,   9, 10,  11, 12,
+        6,  7,   8,  9,
+    };
+
+    /**
+     * The network for each range length.
+     */
+    private static final int[][] NETWORKS = new int[MAXIMUM_LENGTH + 1][];
+
+    static {
+        for (int length = 0; length <= MAXIMUM_LENGTH; length++) {
+            int size = 0;
+
+            for (int i = 0; i < COMPARATORS.length; i += 2) {
+                if (COMPARATORS[i + 1] < length) {
+                    size += 2;
+                }
+            }
+
+            int[] network = new int[size];
+            size = 0;
+
+            for (int i = 0; i < COMPARATORS.length; i += 2) {
+                if (COMPARATORS[i + 1] < length) {
+                    network[size++] = COMPARATORS[i];
+                    network[size++] = COMPARATORS[i + 1];
+                }
+            }
+
+            NETWORKS[length] = network;
+        }
+    }
+
+    private SortingNetwork() {
+
+    }
+
+    /**
+     * Sorts the range 
+     * {@code array[fromIndex], ..., array[fromIndex + rangeLength - 1]}.
+     *
+     * @param array       the array holding the range to sort.
+     * @param fromIndex   the starting index of the range to sort.
+     * @param rangeLength the length of the range, at most 
+     *                    {@link #MAXIMUM_LENGTH}.
+     */
+    static void sort(int[] array, int fromIndex, int rangeLength) {
+        int[] network = NETWORKS[rangeLength];
+
+        for (int i = 0; i != network.length; i += 2) {
+            int leftIndex = fromIndex + network[i];
+            int rightIndex = fromIndex + network[i + 1];
+            int left = array[leftIndex];
+            int right = array[rightIndex];
+            array[leftIndex] = Math.min(left, right);
+            array[rightIndex] = Math.max(left, right);
+        }
+    }
+}
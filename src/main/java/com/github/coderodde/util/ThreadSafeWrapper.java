@@ -1,64 +1,132 @@
 package com.github.coderodde.util;
 
-import java.util.concurrent.Semaphore;
-
 /**
  * This class provides the facilities for sorting and setting the thresholds in
- * multithreaded environments.
+ * multithreaded environments. The sorts run concurrently and share the global
+ * budget of one core per available processor with all the other sorts: a sort
+ * waits only until a core is free and then takes as many of the free cores as
+ * it can use. Each sort works on a snapshot of the default configuration, so a
+ * threshold change never affects a sort already running.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.6 (Jun 30, 2023)
+ * @version 1.7 (Oct 15, 2026)
  */
 public final class ThreadSafeWrapper {
     
-    private static final Semaphore MUTEX = new Semaphore(1, true);
-    
+    /**
+     * Sets the insertion sort threshold. Replaces the whole default 
+     * {@link SortConfig} atomically, so the sorts already running keep their
+     * thresholds.
+     * 
+     * @param newInsertionsortThreshold the new insertion sort threshold.
+     */
     public static void setInsertionsortThreshold(
             int newInsertionsortThreshold) {
         
-        MUTEX.acquireUninterruptibly();
-        
         ParallelRadixSort.setInsertionSortThreshold(
                 newInsertionsortThreshold);
-        
-        MUTEX.release();
     }
     
+    /**
+     * Sets the mergesort threshold. Replaces the whole default 
+     * {@link SortConfig} atomically, so the sorts already running keep their
+     * thresholds.
+     * 
+     * @param newMergesortThreshold the new mergesort threshold.
+     */
     public static void setMergesortThreshold(
             int newMergesortThreshold) {
         
-        MUTEX.acquireUninterruptibly();
-        
         ParallelRadixSort.setMergesortThreshold(
                 newMergesortThreshold);
-        
-        MUTEX.release();
     }
     
+    /**
+     * Sets the minimum thread workload. Replaces the whole default 
+     * {@link SortConfig} atomically, so the sorts already running keep their
+     * thresholds.
+     * 
+     * @param newThreadWorkloadThreshold the new minimum thread workload.
+     */
     public static void setThreadWorkloadThreshold(
             int newThreadWorkloadThreshold) {
         
-        MUTEX.acquireUninterruptibly();
-        
         ParallelRadixSort.setMinimumThreadWorkload(
                 newThreadWorkloadThreshold);
-        
-        MUTEX.release();
     }
     
+    /**
+     * Sorts the entire input array into non-decreasing order.
+     * 
+     * @param array the array to sort.
+     */
     public static void parallelSort(int[] array) {
-        MUTEX.acquireUninterruptibly();
-        
-        ParallelRadixSort.parallelSort(array);
-        
-        MUTEX.release();
+        parallelSortTimed(array, 0, array.length);
     }
     
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]}.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     */
     public static void parallelSort(int[] array, int fromIndex, int toIndex) {
-        MUTEX.acquireUninterruptibly();
+        parallelSortTimed(array, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the entire input array into non-decreasing order and reports how
+     * long the sort was queued.
+     * 
+     * @param array the array to sort.
+     * @return the number of nanoseconds the sort waited for a free core.
+     */
+    public static long parallelSortTimed(int[] array) {
+        return parallelSortTimed(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex], ..., array[toIndex - 1]} and
+     * reports how long the sort was queued.
+     * 
+     * @param array     the array holding the target range to sort.
+     * @param fromIndex the starting, inclusive index of the range to sort.
+     * @param toIndex   the ending, exclusive index of the range to sort.
+     * @return the number of nanoseconds the sort waited for a free core.
+     */
+    public static long parallelSortTimed(int[] array, 
+                                         int fromIndex, 
+                                         int toIndex) {
+        ParallelRadixSort.rangeCheck(array.length, fromIndex, toIndex);
+        
+        SortConfig config = SortConfig.getDefault();
+        int parallelism = config.getParallelism();
+        
+        if (parallelism == 0) {
+            parallelism = 
+                    ParallelRadixSort.getParallelism(config.getExecutor());
+        }
+        
+        int cores = 
+                Math.min(parallelism, 
+                         (toIndex - fromIndex) 
+                                 / config.getMinimumThreadWorkload());
+        
+        long queueingStartTime = System.nanoTime();
+        int acquiredCores = CoreBudget.GLOBAL.acquireWaiting(cores);
+        long queueingTime = System.nanoTime() - queueingStartTime;
         
-        ParallelRadixSort.parallelSort(array, fromIndex, toIndex);
+        try {
+            ParallelRadixSort.parallelSort(
+                    array,
+                    fromIndex, 
+                    toIndex, 
+                    config.withParallelism(acquiredCores));
+        } finally {
+            CoreBudget.GLOBAL.release(acquiredCores);
+        }
         
-        MUTEX.release();
+        return queueingTime;
     }
 }
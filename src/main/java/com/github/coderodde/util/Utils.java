@@ -24,6 +24,16 @@ public final class Utils {
         return createRandomIntArray(size, MAX_VALUE, random);
     }
     
+    public static long[] createRandomLongArray(int size, Random random) {
+        long[] a = new long[size];
+        
+        for (int i = 0; i < size; i++) {
+            a[i] = random.nextLong();
+        }
+        
+        return a;
+    }
+    
     public static int[] createDebugIntArray(int size, Random random) {
         int[] array = new int[size];
         
@@ -0,0 +1,52 @@
+package com.github.coderodde.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class provides the executor starting a virtual thread per task. The
+ * executor is looked up reflectively, so that the library still compiles for
+ * and runs on the JDKs in which the virtual threads are a preview feature or
+ * absent.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 15, 2026)
+ * @since 1.7 (Oct 15, 2026)
+ */
+final class VirtualThreads {
+
+    /**
+     * The executor starting a virtual thread per task, or {@code null} if not
+     * available.
+     */
+    static final Executor EXECUTOR = loadExecutor();
+
+    private VirtualThreads() {
+
+    }
+
+    /**
+     * Returns whether this JVM runs the virtual threads.
+     *
+     * @return {@code true} if the virtual threads are available.
+     */
+    static boolean isAvailable() {
+        return EXECUTOR != null;
+    }
+
+    private static Executor loadExecutor() {
+        try {
+            return (Executor) MethodHandles.publicLookup()
+                    .findStatic(Executors.class,
+                                "newVirtualThreadPerTaskExecutor",
+                                MethodType.methodType(ExecutorService.class))
+                    .invoke();
+        } catch (Throwable throwable) {
+            // Before JDK 19, or a preview feature not enabled.
+            return null;
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.github.coderodde.util;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Assume;
 import org.junit.Test;
 
 public final class ParallelRadixSortTest {
@@ -97,6 +106,1190 @@ public final class ParallelRadixSortTest {
         assertTrue(Arrays.equals(array1, array2));
     }
     
+    @Test
+    public void testParallelRadixSortOnForkJoinPool() {
+        Random random = new Random(31);
+        
+        final int SIZE = 3_000_000;
+        final int FROM_INDEX = 7;
+        final int TO_INDEX = SIZE - 11;
+        
+        int[] array1 = 
+                Utils.createRandomIntArray(
+                        SIZE, 
+                        Integer.MAX_VALUE, 
+                        random);
+        
+        int[] array2 = array1.clone();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        try {
+            Arrays.sort(array1, FROM_INDEX, TO_INDEX);
+            ParallelRadixSort.parallelSort(
+                    array2, 
+                    FROM_INDEX, 
+                    TO_INDEX, 
+                    pool);
+        } finally {
+            pool.shutdown();
+        }
+        
+        assertTrue(Arrays.equals(array1, array2));
+    }
+    
+    @Test
+    public void testParallelRadixSortOnBoundedExecutor() {
+        Random random = new Random(37);
+        
+        final int SIZE = 2_000_000;
+        
+        int[] array1 = 
+                Utils.createRandomIntArray(
+                        SIZE, 
+                        Integer.MAX_VALUE, 
+                        random);
+        
+        int[] array2 = array1.clone();
+        
+        // A single worker must not deadlock the nested phases:
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        ForkJoinPool pool = new ForkJoinPool(8);
+        
+        try {
+            Arrays.sort(array1);
+            
+            // Use the parallelism of 'pool' and the single worker of 
+            // 'executor':
+            ParallelRadixSort.parallelSort(array2, pool);
+            assertTrue(Arrays.equals(array1, array2));
+            
+            array2 = Utils.createRandomIntArray(SIZE, random);
+            array1 = array2.clone();
+            Arrays.sort(array1);
+            ParallelRadixSort.parallelSort(array2, executor);
+        } finally {
+            executor.shutdown();
+            pool.shutdown();
+        }
+        
+        assertTrue(Arrays.equals(array1, array2));
+    }
+    
+    @Test
+    public void testParallelSortInPlace() {
+        Random random = new Random(47);
+        
+        final int SIZE = 200_000;
+        final int FROM_INDEX = 3;
+        final int TO_INDEX = SIZE - 5;
+        
+        int[] array1 = 
+                Utils.createRandomIntArray(
+                        SIZE, 
+                        Integer.MAX_VALUE, 
+                        random);
+        
+        for (int i = 0; i < SIZE; i += 2) {
+            // Make sure the negative numbers are there too:
+            array1[i] = -array1[i];
+        }
+        
+        int[] array2 = array1.clone();
+        
+        Arrays.sort(array1, FROM_INDEX, TO_INDEX);
+        ParallelRadixSort.parallelSortInPlace(array2, FROM_INDEX, TO_INDEX);
+        
+        assertTrue(Arrays.equals(array1, array2));
+    }
+    
+    @Test
+    public void testParallelRadixSortLong() {
+        Random random = new Random(59);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        // Insertion sort, mergesort, serial and parallel radix sort:
+        int[] sizes = { 15, 200, 50_000, 2_000_000 };
+        
+        try {
+            for (int size : sizes) {
+                long[] array1 = Utils.createRandomLongArray(size, random);
+                
+                for (int i = 0; i < size; i += 5) {
+                    // Timestamp-like keys sharing the upper bytes:
+                    array1[i] = 1_700_000_000_000_000_000L 
+                              + random.nextInt(1_000_000);
+                }
+                
+                long[] array2 = array1.clone();
+                
+                Arrays.sort(array1, 1, size - 1);
+                ParallelRadixSort.parallelSort(array2, 1, size - 1, pool);
+                
+                assertTrue(Arrays.equals(array1, array2));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testParallelRadixSortFloatAndDouble() {
+        Random random = new Random(61);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        float[] specialFloats = { 
+            -0.0f, 0.0f, Float.NaN, Float.intBitsToFloat(0xffc0_0001),
+            Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, 
+            Float.MIN_VALUE, -Float.MIN_VALUE, Float.MAX_VALUE
+        };
+        
+        int[] sizes = { 10, 300, 70_000, 1_000_000 };
+        
+        try {
+            for (int size : sizes) {
+                float[] floats1 = new float[size];
+                double[] doubles1 = new double[size];
+                
+                for (int i = 0; i < size; i++) {
+                    if (random.nextInt(10) == 0) {
+                        floats1[i] = 
+                                specialFloats[
+                                    random.nextInt(specialFloats.length)];
+                        
+                        doubles1[i] = floats1[i];
+                    } else {
+                        floats1[i] = (float) random.nextGaussian() * 1e6f;
+                        doubles1[i] = random.nextGaussian() * 1e-3;
+                    }
+                }
+                
+                float[] floats2 = floats1.clone();
+                double[] doubles2 = doubles1.clone();
+                
+                Arrays.sort(floats1);
+                Arrays.sort(doubles1, 2, size - 3);
+                ParallelRadixSort.parallelSort(floats2, pool);
+                ParallelRadixSort.parallelSort(doubles2, 2, size - 3, pool);
+                
+                assertTrue(Arrays.equals(floats1, floats2));
+                assertTrue(Arrays.equals(doubles1, doubles2));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testSkipConstantBytes() {
+        Random random = new Random(67);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        final int SIZE = 1_500_000;
+        
+        try {
+            // Constant second and third bytes within each top-level bucket, 
+            // so that the scatter passes alternate with the skipped ones:
+            int[] array1 = new int[SIZE];
+            long[] longArray1 = new long[SIZE];
+            
+            for (int i = 0; i < SIZE; i++) {
+                array1[i] = (random.nextInt(8) - 4) << 24 
+                          | 0x00_12_34_00 
+                          | random.nextInt(256);
+                
+                longArray1[i] = 
+                        (long) array1[i] << 20 ^ 0x0abc_0000_0000_0000L;
+            }
+            
+            int[] array2 = array1.clone();
+            int[] array3 = array1.clone();
+            long[] longArray2 = longArray1.clone();
+            
+            Arrays.sort(array1);
+            Arrays.sort(longArray1);
+            ParallelRadixSort.parallelSort(array2, pool);
+            ParallelRadixSort.parallelSort(longArray2, pool);
+            new RadixSorter(pool).sortInPlace(array3);
+            
+            assertTrue(Arrays.equals(array1, array2));
+            assertTrue(Arrays.equals(array1, array3));
+            assertTrue(Arrays.equals(longArray1, longArray2));
+            
+            // The serial radix sort:
+            array2 = Utils.createRandomIntArray(50_000, random);
+            array1 = array2.clone();
+            
+            for (int i = 0; i < array1.length; i++) {
+                array1[i] = array2[i] = array2[i] << 8 | 0x7f;
+            }
+            
+            Arrays.sort(array1);
+            ParallelRadixSort.parallelSort(array2);
+            
+            assertTrue(Arrays.equals(array1, array2));
+            
+            // All equal:
+            array1 = new int[SIZE];
+            Arrays.fill(array1, -13);
+            array2 = array1.clone();
+            ParallelRadixSort.parallelSort(array2, pool);
+            
+            assertTrue(Arrays.equals(array1, array2));
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testCountingSort() {
+        Random random = new Random(71);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        // Parallel and serial counting sorts with negative and positive keys:
+        int[] sizes = { 2_000_000, 400_000, 5_000 };
+        
+        try {
+            for (int size : sizes) {
+                int[] array1 = Utils.createRandomIntArray(size, random);
+                
+                for (int i = 0; i < size; i++) {
+                    array1[i] -= 500;
+                }
+                
+                // Make one key dominant:
+                for (int i = 0; i < size / 2; i++) {
+                    array1[random.nextInt(size)] = 13;
+                }
+                
+                int[] array2 = array1.clone();
+                
+                Arrays.sort(array1, 11, size - 11);
+                ParallelRadixSort.parallelSort(array2, 11, size - 11, pool);
+                
+                assertTrue(Arrays.equals(array1, array2));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testParallelSortKeyValue() {
+        Random random = new Random(73);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        // Insertion sort, serial and parallel radix sort:
+        int[] sizes = { 16, 5_000, 2_000_000 };
+        
+        try {
+            for (int size : sizes) {
+                int[] keys1 = new int[size];
+                
+                for (int i = 0; i < size; i++) {
+                    // Many duplicate keys in order to check the stability:
+                    keys1[i] = random.nextInt(size / 8 + 1) * 1_000_003;
+                }
+                
+                int[] keys2 = keys1.clone();
+                int[] values = new int[size];
+                long[] longValues = new long[size];
+                
+                for (int i = 0; i < size; i++) {
+                    values[i] = i;
+                    longValues[i] = i + (1L << 40);
+                }
+                
+                int[] expectedKeys = keys1.clone();
+                Arrays.sort(expectedKeys);
+                
+                ParallelRadixSort.parallelSort(keys1, values, 0, size, pool);
+                ParallelRadixSort.parallelSort(
+                        keys2,
+                        longValues,
+                        0,
+                        size,
+                        pool);
+                
+                assertTrue(Arrays.equals(expectedKeys, keys1));
+                assertTrue(Arrays.equals(expectedKeys, keys2));
+                
+                for (int i = 1; i < size; i++) {
+                    if (keys1[i - 1] == keys1[i]) {
+                        assertTrue(values[i - 1] < values[i]);
+                    }
+                }
+                
+                for (int i = 0; i < size; i++) {
+                    assertEquals(values[i] + (1L << 40), longValues[i]);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testParallelArgSort() {
+        Random random = new Random(79);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        int[] sizes = { 0, 1, 16, 5_000, 1_000_000 };
+        
+        try {
+            for (int size : sizes) {
+                int[] array = new int[size];
+                
+                for (int i = 0; i < size; i++) {
+                    array[i] = random.nextInt(size / 4 + 1) - size / 8;
+                }
+                
+                int[] copy = array.clone();
+                
+                // The stable sorting permutation:
+                long[] pairs = new long[size];
+                
+                for (int i = 0; i < size; i++) {
+                    pairs[i] = ((long) array[i] << 32) | i;
+                }
+                
+                Arrays.sort(pairs);
+                
+                int[] expected = new int[size];
+                
+                for (int i = 0; i < size; i++) {
+                    expected[i] = (int) pairs[i];
+                }
+                
+                assertTrue(Arrays.equals(
+                        expected, 
+                        ParallelRadixSort.parallelArgSort(array, pool)));
+                
+                assertTrue(Arrays.equals(copy, array));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testSkewedBuckets() {
+        Random random = new Random(83);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        final int SIZE = 3_000_000;
+        
+        int[] array1 = Utils.createRandomIntArray(SIZE, random);
+        
+        for (int i = 0; i < SIZE; i++) {
+            if (random.nextInt(10) != 0) {
+                // Nine tenths of the elements fall into the same top bucket:
+                array1[i] = 0x1200_0000 | random.nextInt(1 << 24);
+            }
+        }
+        
+        int[] array2 = array1.clone();
+        
+        try {
+            Arrays.sort(array1);
+            ParallelRadixSort.parallelSort(array2, pool);
+        } finally {
+            pool.shutdown();
+        }
+        
+        assertTrue(Arrays.equals(array1, array2));
+    }
+    
+    @Test
+    public void testWorkStealing() {
+        Random random = new Random(89);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        
+        final int SIZE = 200_000;
+        
+        int[] array1 = new int[SIZE];
+        
+        for (int i = 0; i < SIZE; i++) {
+            // Two top buckets sorted each by a single task that forks its 
+            // four large sub-buckets:
+            array1[i] = ((random.nextInt(2) + 1) << 24) 
+                      | (random.nextInt(4) << 16) 
+                      | random.nextInt(1 << 16);
+        }
+        
+        int[] array2 = array1.clone();
+        int[] values = new int[SIZE];
+        
+        try {
+            Arrays.sort(array1);
+            ParallelRadixSort.parallelSort(array2, values, 0, SIZE, pool);
+            assertTrue(Arrays.equals(array1, array2));
+            
+            for (int i = 0; i < SIZE; i++) {
+                array2[i] = array1[(i * 7) % SIZE];
+            }
+            
+            ParallelRadixSort.parallelSort(array2, pool);
+        } finally {
+            pool.shutdown();
+        }
+        
+        assertTrue(Arrays.equals(array1, array2));
+    }
+    
+    @Test
+    public void testBucketScheduler() {
+        int[] bucketSizeMap = new int[ParallelRadixSort.BUCKETS];
+        bucketSizeMap[3] = 800_000;
+        bucketSizeMap[7] = 100_000;
+        bucketSizeMap[8] = 60_000;
+        bucketSizeMap[9] = 40_000;
+        
+        List<BucketScheduler.BucketGroup> bucketGroups = 
+                BucketScheduler.schedule(
+                        bucketSizeMap, 
+                        4, 
+                        1_000_000, 
+                        4, 
+                        ParallelRadixSort.DEFAULT_THREAD_THRESHOLD);
+        
+        // The large bucket is sorted by three threads, the rest by one:
+        assertEquals(2, bucketGroups.size());
+        assertEquals(3, bucketGroups.get(0).threads);
+        assertEquals(1, bucketGroups.get(0).bucketKeys.size());
+        assertEquals(3, bucketGroups.get(0).bucketKeys.getBucketKey(0));
+        assertEquals(1, bucketGroups.get(1).threads);
+        assertEquals(3, bucketGroups.get(1).bucketKeys.size());
+        assertEquals(7, bucketGroups.get(1).bucketKeys.getBucketKey(0));
+        
+        // Small buckets are balanced by the longest processing time first:
+        bucketSizeMap[3] = 50_000;
+        bucketGroups = 
+                BucketScheduler.schedule(
+                        bucketSizeMap, 
+                        4, 
+                        250_000, 
+                        2, 
+                        ParallelRadixSort.DEFAULT_THREAD_THRESHOLD);
+        
+        assertEquals(2, bucketGroups.size());
+        assertEquals(7, bucketGroups.get(0).bucketKeys.getBucketKey(0));
+        assertEquals(8, bucketGroups.get(1).bucketKeys.getBucketKey(0));
+        assertEquals(3, bucketGroups.get(1).bucketKeys.getBucketKey(1));
+        assertEquals(9, bucketGroups.get(0).bucketKeys.getBucketKey(1));
+    }
+    
+    @Test
+    public void testConstantDigits() {
+        Random random = new Random(97);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        final int SIZE = 500_000;
+        
+        int[] array1 = new int[SIZE];
+        
+        for (int i = 0; i < SIZE; i++) {
+            // The bytes at the depths 0 and 2 are the same in all elements:
+            array1[i] = 0x1200_3400 
+                      | (random.nextInt(256) << 16) 
+                      | random.nextInt(256);
+        }
+        
+        ParallelRadixSort.HistogramScanner[] histogramScanners = 
+                ParallelRadixSort.scanHistograms(array1, 0, SIZE, 4, pool);
+        
+        assertEquals(0b0101, 
+                     ParallelRadixSort.getConstantDigits(histogramScanners, 
+                                                         SIZE));
+        
+        int[] array2 = array1.clone();
+        
+        try {
+            Arrays.sort(array1);
+            ParallelRadixSort.parallelSort(array2, pool);
+            assertTrue(Arrays.equals(array1, array2));
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testLsdMode() {
+        Random random = new Random(101);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        final int SIZE = 300_000;
+        
+        try {
+            ParallelRadixSort.setSortMode(SortMode.LSD);
+            
+            // Four passes, and three passes leaving the result in the buffer:
+            for (int bound : new int[]{ 0, 1 << 24 }) {
+                int[] array1 = new int[SIZE];
+                
+                for (int i = 0; i < SIZE; i++) {
+                    array1[i] = bound == 0 ? 
+                                random.nextInt() : 
+                                random.nextInt(bound);
+                }
+                
+                int[] array2 = array1.clone();
+                int[] array3 = array1.clone();
+                int[] array4 = array1.clone();
+                
+                Arrays.sort(array1);
+                ParallelRadixSort.parallelSort(array2, pool);
+                assertTrue(Arrays.equals(array1, array2));
+                
+                Arrays.sort(array3, 1000, SIZE - 1000);
+                ParallelRadixSort.parallelSort(array4, 1000, SIZE - 1000);
+                assertTrue(Arrays.equals(array3, array4));
+            }
+        } finally {
+            ParallelRadixSort.setSortMode(SortMode.AUTOMATIC);
+            pool.shutdown();
+        }
+        
+        SortConfig config = SortConfig.getDefault();
+        
+        assertTrue(ParallelRadixSort.isLsdPreferred(100_000_000, 4, 0, config));
+        assertTrue(!ParallelRadixSort.isLsdPreferred(20_000, 1, 0, config));
+        assertTrue(ParallelRadixSort.isLsdPreferred(20_000, 1, 0b0111, config));
+    }
+    
+    @Test
+    public void testRadixBits() {
+        assertEquals(16, LsdRadixSort.getRadixBits(0, 25_000_000, 32));
+        assertEquals(11, LsdRadixSort.getRadixBits(0, 250_000, 32));
+        assertEquals(8, LsdRadixSort.getRadixBits(0, 10_000, 32));
+        assertEquals(8, LsdRadixSort.getRadixBits(0, 25_000_000, 8));
+        
+        Random random = new Random(103);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        final int SIZE = 300_000;
+        
+        try {
+            ParallelRadixSort.setSortMode(SortMode.LSD);
+            
+            for (int radixBits : new int[]{ 8, 11, 16 }) {
+                ParallelRadixSort.setRadixBits(radixBits);
+                
+                int[] array1 = new int[SIZE];
+                
+                for (int i = 0; i < SIZE; i++) {
+                    // The middle byte is constant:
+                    array1[i] = (random.nextInt() & 0xffff00ff) | 0x5500;
+                }
+                
+                int[] array2 = array1.clone();
+                
+                Arrays.sort(array1);
+                ParallelRadixSort.parallelSort(array2, pool);
+                assertTrue(Arrays.equals(array1, array2));
+            }
+        } finally {
+            ParallelRadixSort.setRadixBits(0);
+            ParallelRadixSort.setSortMode(SortMode.AUTOMATIC);
+            pool.shutdown();
+        }
+        
+        try {
+            ParallelRadixSort.setRadixBits(12);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals(0, SortConfig.getDefault().getRadixBits());
+        }
+    }
+    
+    @Test
+    public void testWriteCombining() {
+        Random random = new Random(107);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        final int SIZE = 300_000;
+        
+        try {
+            ParallelRadixSort.setWriteCombiningThreshold(0);
+            
+            for (SortMode sortMode : SortMode.values()) {
+                ParallelRadixSort.setSortMode(sortMode);
+                
+                int[] array1 = new int[SIZE];
+                
+                for (int i = 0; i < SIZE; i++) {
+                    array1[i] = random.nextInt();
+                }
+                
+                int[] array2 = array1.clone();
+                
+                Arrays.sort(array1);
+                ParallelRadixSort.parallelSort(array2, pool);
+                assertTrue(Arrays.equals(array1, array2));
+            }
+        } finally {
+            ParallelRadixSort.setWriteCombiningThreshold(
+                    ParallelRadixSort.DEFAULT_WRITE_COMBINING_THRESHOLD);
+            ParallelRadixSort.setSortMode(SortMode.AUTOMATIC);
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testVectorKernel() {
+        HistogramKernel vectorKernel = HistogramKernel.VECTOR_KERNEL;
+        
+        // Built without the vector profile, the scalar loops are used:
+        Assume.assumeTrue(vectorKernel != null);
+        
+        Random random = new Random(109);
+        
+        for (int length : new int[]{ 1, 7, 100, 10_003 }) {
+            int[] array = new int[length];
+            
+            for (int i = 0; i < length; i++) {
+                // Many repeated keys:
+                array[i] = random.nextInt(8) == 0 ? 
+                           random.nextInt() : 
+                           -12_345;
+            }
+            
+            int[] expectedHistogram = new int[4 * ParallelRadixSort.BUCKETS];
+            int[] histogram = new int[expectedHistogram.length];
+            int[] extremes = new int[2];
+            
+            for (int datum : array) {
+                for (int depth = 0; depth < 4; depth++) {
+                    expectedHistogram[depth * ParallelRadixSort.BUCKETS 
+                            + ParallelRadixSort.getBucketIndex(datum, depth)]++;
+                }
+            }
+            
+            vectorKernel.countAllBytes(array, 0, length, histogram, extremes);
+            
+            assertTrue(Arrays.equals(expectedHistogram, histogram));
+            assertEquals(Arrays.stream(array).min().getAsInt(), extremes[0]);
+            assertEquals(Arrays.stream(array).max().getAsInt(), extremes[1]);
+            
+            int[] bucketSizeMap = new int[ParallelRadixSort.BUCKETS];
+            vectorKernel.countBytes(array, 0, length, 0, bucketSizeMap);
+            
+            assertTrue(
+                    Arrays.equals(
+                            Arrays.copyOf(expectedHistogram, 
+                                          ParallelRadixSort.BUCKETS), 
+                            bucketSizeMap));
+        }
+    }
+    
+    @Test
+    public void testSortingNetwork() {
+        // By the 0-1 principle, a network sorting all the 0-1 inputs sorts
+        // all the inputs:
+        for (int length = 0; 
+                length <= SortingNetwork.MAXIMUM_LENGTH; 
+                length++) {
+            for (int bits = 0; bits != 1 << length; bits++) {
+                int[] array = new int[length + 2];
+                
+                for (int i = 0; i < length; i++) {
+                    array[i + 1] = (bits >>> i) & 1;
+                }
+                
+                array[length + 1] = -1;
+                
+                SortingNetwork.sort(array, 1, length);
+                
+                assertEquals(0, array[0]);
+                assertEquals(-1, array[length + 1]);
+                
+                for (int i = 1; i < length; i++) {
+                    assertTrue(array[i] <= array[i + 1]);
+                }
+                
+                assertEquals(Integer.bitCount(bits), 
+                             Arrays.stream(array).sum() + 1);
+            }
+        }
+        
+        Random random = new Random(113);
+        
+        // Leaves of every size, including the mergesort leaves:
+        for (int length : new int[]{ 50, 1_000, 100_000 }) {
+            int[] array1 = new int[length];
+            
+            for (int i = 0; i < length; i++) {
+                array1[i] = random.nextInt();
+            }
+            
+            int[] array2 = array1.clone();
+            
+            Arrays.sort(array1);
+            ParallelRadixSort.parallelSort(array2);
+            assertTrue(Arrays.equals(array1, array2));
+        }
+    }
+    
+    @Test
+    public void testLargeMergesortThresholdOnForkJoinPool() throws Exception {
+        Random random = new Random(163);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        final int SIZE = 4_000_000;
+        
+        try {
+            ParallelRadixSort.setSortMode(SortMode.MSD);
+            ParallelRadixSort.setMergesortThreshold(200_000);
+            
+            for (int iteration = 0; iteration < 3; iteration++) {
+                int[] array1 = new int[SIZE];
+                
+                // The buckets are larger than the forking size, but not 
+                // larger than the mergesort threshold:
+                for (int i = 0; i < SIZE; i++) {
+                    array1[i] = (random.nextInt(32) << 24) 
+                              | (random.nextInt(4) << 16)
+                              | (random.nextInt() >>> 16);
+                }
+                
+                int[] array2 = array1.clone();
+                
+                Arrays.sort(array1);
+                
+                // Run in a worker of the pool so that the buckets are forked:
+                pool.submit(() -> ParallelRadixSort.parallelSort(array2, pool))
+                    .get();
+                
+                assertTrue(Arrays.equals(array1, array2));
+            }
+        } finally {
+            ParallelRadixSort.setMergesortThreshold(
+                    ParallelRadixSort.DEFAULT_MERGESORT_THRESHOLD);
+            ParallelRadixSort.setSortMode(SortMode.AUTOMATIC);
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testPresortedInputs() {
+        Random random = new Random(127);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        final int SIZE = 400_000;
+        
+        try {
+            for (int runs : new int[]{ 1, 2, 3, 7, 8, 9 }) {
+                int[] array1 = new int[SIZE];
+                
+                for (int i = 0; i < SIZE; i++) {
+                    array1[i] = random.nextInt();
+                }
+                
+                // Sort 'runs' chunks of random lengths separately:
+                int[] runStarts = new int[runs + 1];
+                runStarts[runs] = SIZE;
+                
+                for (int i = 1; i < runs; i++) {
+                    runStarts[i] = runStarts[i - 1] 
+                                 + random.nextInt(SIZE / runs) + 1;
+                }
+                
+                for (int i = 0; i < runs; i++) {
+                    Arrays.sort(array1, runStarts[i], runStarts[i + 1]);
+                }
+                
+                int[] array2 = array1.clone();
+                int[] array3 = array1.clone();
+                int[] array4 = array1.clone();
+                
+                Arrays.sort(array1);
+                ParallelRadixSort.parallelSort(array2, pool);
+                assertTrue(Arrays.equals(array1, array2));
+                
+                Arrays.sort(array3, 10, SIZE - 10);
+                ParallelRadixSort.parallelSort(array4, 10, SIZE - 10);
+                assertTrue(Arrays.equals(array3, array4));
+            }
+            
+            // Reversed with duplicates, and nearly sorted with late arrivals:
+            int[] array1 = new int[SIZE];
+            
+            for (int i = 0; i < SIZE; i++) {
+                array1[i] = (SIZE - i) / 3;
+            }
+            
+            int[] array2 = array1.clone();
+            Arrays.sort(array1);
+            ParallelRadixSort.parallelSort(array2, pool);
+            assertTrue(Arrays.equals(array1, array2));
+            
+            for (int i = 0; i < 5; i++) {
+                array2[random.nextInt(SIZE)] = random.nextInt(SIZE);
+            }
+            
+            array1 = array2.clone();
+            Arrays.sort(array1);
+            ParallelRadixSort.parallelSort(array2, pool);
+            assertTrue(Arrays.equals(array1, array2));
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testDominantKeys() {
+        Random random = new Random(131);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        final int SIZE = 600_000;
+        
+        int[] array1 = new int[SIZE];
+        
+        for (int i = 0; i < SIZE; i++) {
+            int choice = random.nextInt(10);
+            
+            // A huge bucket of one key, a huge bucket with a constant middle
+            // byte, and some noise:
+            array1[i] = choice < 5 ? 
+                        0x4000_0000 :
+                        choice < 9 ?
+                        0x2000_0000 | (random.nextInt(256) << 8) | 0x11 :
+                        random.nextInt();
+        }
+        
+        int[] array2 = array1.clone();
+        int[] array3 = array1.clone();
+        int[] array4 = array1.clone();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        ForkJoinPool singleThreadPool = new ForkJoinPool(1);
+        
+        try {
+            ParallelRadixSort.setSortMode(SortMode.MSD);
+            Arrays.sort(array1);
+            
+            // The large buckets are split over several threads:
+            ParallelRadixSort.parallelSort(array2, executorService);
+            assertTrue(Arrays.equals(array1, array2));
+            
+            ParallelRadixSort.parallelSort(array3, pool);
+            assertTrue(Arrays.equals(array1, array3));
+            
+            new RadixSorter(singleThreadPool).sort(array4);
+            assertTrue(Arrays.equals(array1, array4));
+        } finally {
+            ParallelRadixSort.setSortMode(SortMode.AUTOMATIC);
+            executorService.shutdown();
+            singleThreadPool.shutdown();
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testSortConfig() {
+        Random random = new Random(137);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        
+        final int SIZE = 300_000;
+        
+        SortConfig defaultConfig = SortConfig.getDefault();
+        SortConfig lsdConfig = 
+                defaultConfig.withSortMode(SortMode.LSD)
+                             .withRadixBits(11)
+                             .withParallelism(2)
+                             .withExecutor(pool);
+        SortConfig msdConfig = 
+                defaultConfig.withSortMode(SortMode.MSD)
+                             .withMergesortThreshold(64)
+                             .withMinimumThreadWorkload(20_000)
+                             .withExecutor(executor);
+        
+        assertEquals(SortMode.LSD, lsdConfig.getSortMode());
+        assertEquals(11, lsdConfig.getRadixBits());
+        assertEquals(2, lsdConfig.getParallelism());
+        assertEquals(pool, lsdConfig.getExecutor());
+        assertEquals(ForkJoinPool.commonPool(), defaultConfig.getExecutor());
+        
+        try {
+            int[] array1 = new int[SIZE];
+            
+            for (int i = 0; i < SIZE; i++) {
+                array1[i] = random.nextInt();
+            }
+            
+            int[] array2 = array1.clone();
+            int[] array3 = array1.clone();
+            long[] array4 = new long[SIZE];
+            
+            for (int i = 0; i < SIZE; i++) {
+                array4[i] = random.nextLong();
+            }
+            
+            long[] array5 = array4.clone();
+            
+            Arrays.sort(array1);
+            Arrays.sort(array4);
+            
+            // Two configurations in flight at the same time:
+            Thread thread = 
+                    new Thread(() -> 
+                            ParallelRadixSort.parallelSort(array2, lsdConfig));
+            
+            thread.start();
+            ParallelRadixSort.parallelSort(array3, 0, SIZE, msdConfig);
+            thread.join();
+            
+            new RadixSorter(msdConfig).sort(array5, 0, SIZE);
+            
+            assertTrue(Arrays.equals(array1, array2));
+            assertTrue(Arrays.equals(array1, array3));
+            assertTrue(Arrays.equals(array4, array5));
+            
+            // The per-call configurations leave the default one intact:
+            assertTrue(defaultConfig == SortConfig.getDefault());
+        } catch (InterruptedException ex) {
+            fail();
+        } finally {
+            pool.shutdown();
+            executor.shutdown();
+        }
+        
+        try {
+            defaultConfig.withRadixBits(12);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            
+        }
+        
+        try {
+            defaultConfig.withParallelism(-1);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            
+        }
+    }
+    
+    @Test
+    public void testThreadSafeWrapper() throws InterruptedException {
+        Random random = new Random(139);
+        
+        final int SIZE = 1_000_000;
+        final int SORTS = 4;
+        
+        int[][] arrays = new int[SORTS][SIZE];
+        int[][] expected = new int[SORTS][];
+        long[] queueingTimes = new long[SORTS];
+        Thread[] threads = new Thread[SORTS];
+        
+        for (int i = 0; i < SORTS; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                arrays[i][j] = random.nextInt();
+            }
+            
+            expected[i] = arrays[i].clone();
+            Arrays.sort(expected[i]);
+        }
+        
+        for (int i = 0; i < SORTS; i++) {
+            int index = i;
+            
+            threads[i] = 
+                    new Thread(() -> 
+                        queueingTimes[index] = 
+                                ThreadSafeWrapper.parallelSortTimed(
+                                        arrays[index]));
+        }
+        
+        try {
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            
+            // A threshold change while sorting must not break the sorts:
+            ThreadSafeWrapper.setMergesortThreshold(1024);
+            
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } finally {
+            ThreadSafeWrapper.setMergesortThreshold(
+                    ParallelRadixSort.DEFAULT_MERGESORT_THRESHOLD);
+        }
+        
+        for (int i = 0; i < SORTS; i++) {
+            assertTrue(Arrays.equals(expected[i], arrays[i]));
+            assertTrue(queueingTimes[i] >= 0L);
+        }
+        
+        int[] array = new int[SIZE];
+        
+        for (int i = 0; i < SIZE; i++) {
+            array[i] = random.nextInt();
+        }
+        
+        int[] expectedArray = array.clone();
+        
+        Arrays.sort(expectedArray, 10, SIZE - 10);
+        ThreadSafeWrapper.parallelSort(array, 10, SIZE - 10);
+        assertTrue(Arrays.equals(expectedArray, array));
+    }
+    
+    @Test
+    public void testCoreBudget() throws InterruptedException {
+        CoreBudget coreBudget = new CoreBudget(4);
+        
+        assertEquals(3, coreBudget.acquire(3));
+        assertEquals(1, coreBudget.acquire(3));
+        
+        // An exhausted budget still grants the calling thread:
+        assertEquals(1, coreBudget.acquire(2));
+        assertEquals(5, coreBudget.getCoresInUse());
+        
+        coreBudget.release(3);
+        assertEquals(2, coreBudget.acquireWaiting(4));
+        coreBudget.release(2);
+        coreBudget.release(1);
+        coreBudget.release(1);
+        assertEquals(0, coreBudget.getCoresInUse());
+        
+        Random random = new Random(149);
+        
+        final int SIZE = 1_000_000;
+        final int SORTS = 6;
+        
+        int[][] arrays = new int[SORTS][SIZE];
+        int[][] expected = new int[SORTS][];
+        Thread[] threads = new Thread[SORTS];
+        
+        for (int i = 0; i < SORTS; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                arrays[i][j] = random.nextInt();
+            }
+            
+            expected[i] = arrays[i].clone();
+            Arrays.sort(expected[i]);
+            
+            int[] array = arrays[i];
+            threads[i] = 
+                    new Thread(() -> ParallelRadixSort.parallelSort(array));
+        }
+        
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        for (int i = 0; i < SORTS; i++) {
+            assertTrue(Arrays.equals(expected[i], arrays[i]));
+        }
+        
+        // All the sorts returned their cores:
+        assertEquals(0, CoreBudget.GLOBAL.getCoresInUse());
+    }
+    
+    @Test
+    public void testParallelSortAsync() throws Exception {
+        Random random = new Random(151);
+        ExecutorService callbackExecutor = 
+                Executors.newSingleThreadExecutor(
+                        runnable -> new Thread(runnable, "callback"));
+        
+        final int SIZE = 500_000;
+        
+        int[] array1 = new int[SIZE];
+        
+        for (int i = 0; i < SIZE; i++) {
+            array1[i] = random.nextInt();
+        }
+        
+        int[] array2 = array1.clone();
+        int[] array3 = array1.clone();
+        
+        Arrays.sort(array1);
+        
+        try {
+            CompletableFuture<Void> future1 = 
+                    ParallelRadixSort.parallelSortAsync(array2);
+            
+            CompletableFuture<String> future2 = 
+                    ParallelRadixSort.parallelSortAsync(
+                            array3, 
+                            0, 
+                            SIZE, 
+                            SortConfig.getDefault(), 
+                            callbackExecutor)
+                            .thenApply(v -> Thread.currentThread().getName());
+            
+            future1.get();
+            assertEquals("callback", future2.get());
+            assertTrue(Arrays.equals(array1, array2));
+            assertTrue(Arrays.equals(array1, array3));
+        } finally {
+            callbackExecutor.shutdown();
+        }
+        
+        // A rejected sort completes the future exceptionally:
+        CompletableFuture<Void> future = 
+                ParallelRadixSort.parallelSortAsync(
+                        array2, 
+                        SortConfig.getDefault().withExecutor(runnable -> {
+                            throw new RejectedExecutionException();
+                        }));
+        
+        assertTrue(future.isCompletedExceptionally());
+        
+        try {
+            ParallelRadixSort.parallelSortAsync(
+                    array2, 
+                    1, 
+                    0, 
+                    SortConfig.getDefault());
+            fail();
+        } catch (IllegalArgumentException ex) {
+            
+        }
+    }
+    
+    @Test
+    public void testVirtualThreads() {
+        Assume.assumeTrue(VirtualThreads.isAvailable());
+        
+        Random random = new Random(157);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        
+        final int SIZE = 1_000_000;
+        
+        try {
+            for (Executor sortExecutor : new Executor[]{ pool, executor }) {
+                SortConfig config = 
+                        SortConfig.getDefault()
+                                  .withSortMode(SortMode.MSD)
+                                  .withExecutor(sortExecutor)
+                                  .withVirtualThreads(true);
+                
+                assertTrue(config.usesVirtualThreads());
+                
+                int[] array1 = new int[SIZE];
+                
+                for (int i = 0; i < SIZE; i++) {
+                    // Skewed buckets, some recurred into in parallel:
+                    array1[i] = random.nextInt() >>> random.nextInt(8);
+                }
+                
+                int[] array2 = array1.clone();
+                
+                Arrays.sort(array1);
+                ParallelRadixSort.parallelSort(array2, config);
+                assertTrue(Arrays.equals(array1, array2));
+            }
+        } finally {
+            pool.shutdown();
+            executor.shutdown();
+        }
+    }
+    
    @Test
    public void bruteForceTestInsertionsort() {
        final int ITERATIONS = 200;
@@ -238,4 +1431,23 @@ public final class ParallelRadixSortTest {
        
        assertEquals(0, bucketKey);
    }
+   
+   @Test
+   public void getLongBucketIndex() {
+       assertEquals(
+               0x81, 
+               LongRadixSort.getBucketIndex(0x0123_4567_89ab_cdefL, 0));
+       
+       assertEquals(
+               0x45, 
+               LongRadixSort.getBucketIndex(0x0123_4567_89ab_cdefL, 2));
+       
+       assertEquals(
+               0xef, 
+               LongRadixSort.getBucketIndex(0x0123_4567_89ab_cdefL, 7));
+       
+       assertEquals(
+               0x7f, 
+               LongRadixSort.getBucketIndex(-1L, 0));
+   }
 }
@@ -0,0 +1,215 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public final class RadixSorterTest {
+    
+    @Test
+    public void testReuseOverManyArrays() {
+        Random random = new Random(41);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        RadixSorter sorter = new RadixSorter(pool);
+        
+        // Large, then smaller and larger again so that the buffer is both 
+        // reused and grown:
+        int[] sizes = { 1_500_000, 13, 250, 40_000, 800_000, 2_000_000 };
+        
+        try {
+            for (int size : sizes) {
+                int[] array1 = 
+                        Utils.createRandomIntArray(
+                                size, 
+                                Integer.MAX_VALUE, 
+                                random);
+                
+                int[] array2 = array1.clone();
+                int fromIndex = random.nextInt(size / 4 + 1);
+                int toIndex = size - random.nextInt(size / 4 + 1);
+                
+                Arrays.sort(array1, fromIndex, toIndex);
+                sorter.sort(array2, fromIndex, toIndex);
+                
+                assertTrue(Arrays.equals(array1, array2));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testParallelSortInPlace() {
+        Random random = new Random(53);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        RadixSorter sorter = new RadixSorter(pool);
+        
+        try {
+            int[] array1 = 
+                    Utils.createRandomIntArray(
+                            3_000_000, 
+                            Integer.MAX_VALUE,
+                            random);
+            
+            for (int i = 1; i < array1.length; i += 3) {
+                array1[i] = -array1[i];
+            }
+            
+            int[] array2 = array1.clone();
+            
+            Arrays.sort(array1, 100, array1.length - 100);
+            sorter.sortInPlace(array2, 100, array2.length - 100);
+            assertTrue(Arrays.equals(array1, array2));
+            
+            // Many duplicates, a single non-empty bucket at the top level:
+            array1 = Utils.createRandomIntArray(2_000_000, random);
+            array2 = array1.clone();
+            
+            Arrays.sort(array1);
+            sorter.sortInPlace(array2);
+            assertTrue(Arrays.equals(array1, array2));
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testReleaseBuffers() {
+        Random random = new Random(43);
+        RadixSorter sorter = new RadixSorter();
+        
+        for (int iteration = 0; iteration < 3; iteration++) {
+            int[] array1 = Utils.createRandomIntArray(100_000, random);
+            int[] array2 = array1.clone();
+            
+            Arrays.sort(array1);
+            sorter.sort(array2);
+            sorter.releaseBuffers();
+            
+            assertTrue(Arrays.equals(array1, array2));
+        }
+    }
+    
+    @Test
+    public void testCountingSortBufferWithinRangeLength() {
+        Random random = new Random(59);
+        RadixSorter sorter = 
+                new RadixSorter(
+                        SortConfig.getDefault()
+                                  .withExecutor(Runnable::run)
+                                  .withParallelism(4)
+                                  .withMinimumThreadWorkload(
+                                          ParallelRadixSort
+                                                  .MINIMUM_THREAD_WORKLOAD));
+        
+        final int SIZE = 100_000;
+        final int KEY_RANGE = 60_000;
+        
+        int[] array1 = new int[SIZE];
+        
+        for (int i = 0; i < SIZE; i++) {
+            array1[i] = random.nextInt(KEY_RANGE);
+        }
+        
+        array1[0] = 0;
+        array1[1] = KEY_RANGE - 1;
+        
+        int[] array2 = array1.clone();
+        
+        Arrays.sort(array1);
+        sorter.sort(array2);
+        
+        assertTrue(Arrays.equals(array1, array2));
+        
+        // Four rows of counts would not fit in the range length:
+        assertTrue(sorter.getBuffer(0).length <= SIZE);
+    }
+    
+    @Test
+    public void testDefaultConfigSnapshotPerSort() {
+        RadixSorter sorter = new RadixSorter();
+        
+        try {
+            sorter.sort(new int[]{ 3, 1, 2 });
+            SortConfig config = sorter.getConfig();
+            
+            // A change of the defaults leaves the snapshot of the sort:
+            ParallelRadixSort.setMergesortThreshold(1_000);
+            assertSame(config, sorter.getConfig());
+            
+            // ...but the next sort takes a new snapshot:
+            sorter.sort(new int[]{ 3, 1, 2 });
+            assertEquals(1_000, sorter.getConfig().getMergesortThreshold());
+        } finally {
+            ParallelRadixSort.setMergesortThreshold(
+                    ParallelRadixSort.DEFAULT_MERGESORT_THRESHOLD);
+        }
+    }
+    
+    @Test
+    public void testSteadyStateAllocatesNothing() {
+        Random random = new Random(47);
+        
+        // Run the parallel phases in the calling thread, so that the same
+        // number of bucket maps is in use in each sort. Scatter through the
+        // write-combining buffers:
+        RadixSorter sorter = 
+                new RadixSorter(
+                        SortConfig.getDefault()
+                                  .withExecutor(Runnable::run)
+                                  .withParallelism(4)
+                                  .withWriteCombiningThreshold(0));
+        
+        final int SIZE = 1_000_000;
+        
+        int[] buffer = null;
+        long[] longBuffer = null;
+        int freeBucketMapsCount = 0;
+        int freeWriteCombiningBuffersCount = 0;
+        
+        for (int iteration = 0; iteration < 5; iteration++) {
+            int[] array1 = new int[SIZE];
+            long[] array2 = new long[SIZE];
+            
+            for (int i = 0; i < SIZE; i++) {
+                array1[i] = random.nextInt();
+                array2[i] = random.nextLong();
+            }
+            
+            int[] array3 = array1.clone();
+            long[] array4 = array2.clone();
+            
+            Arrays.sort(array1);
+            Arrays.sort(array2);
+            sorter.sort(array3);
+            sorter.sort(array4);
+            
+            assertTrue(Arrays.equals(array1, array3));
+            assertTrue(Arrays.equals(array2, array4));
+            
+            if (iteration == 0) {
+                buffer = sorter.getBuffer(SIZE);
+                longBuffer = sorter.getLongBuffer(SIZE);
+                freeBucketMapsCount = sorter.getFreeBucketMapsCount();
+                freeWriteCombiningBuffersCount = 
+                        sorter.getFreeWriteCombiningBuffersCount();
+                
+                assertTrue(freeWriteCombiningBuffersCount > 0);
+            } else {
+                // The buffers, the bucket maps and the write-combining 
+                // buffers of the first sort are reused, nothing new is 
+                // allocated:
+                assertSame(buffer, sorter.getBuffer(SIZE));
+                assertSame(longBuffer, sorter.getLongBuffer(SIZE));
+                assertEquals(freeBucketMapsCount, 
+                             sorter.getFreeBucketMapsCount());
+                assertEquals(freeWriteCombiningBuffersCount, 
+                             sorter.getFreeWriteCombiningBuffersCount());
+            }
+        }
+    }
+}